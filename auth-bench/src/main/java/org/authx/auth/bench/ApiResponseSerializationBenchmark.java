@@ -0,0 +1,38 @@
+package org.authx.auth.bench;
+
+import org.authx.auth.authentication.models.ApiResponse;
+import org.authx.auth.authentication.models.User;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of the admin endpoints' ApiResponse&lt;User&gt; payload with the Jackson mapper
+ * Spring Boot uses for MVC responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int roles;
+
+    private JsonMapper mapper;
+    private ApiResponse<User> response;
+
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder().build();
+        response = new ApiResponse<>(200, "User roles updated", Fixtures.user(roles, 10));
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return mapper.writeValueAsBytes(response);
+    }
+}
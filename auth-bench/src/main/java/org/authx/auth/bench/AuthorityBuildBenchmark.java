@@ -0,0 +1,50 @@
+package org.authx.auth.bench;
+
+import org.authx.auth.authentication.models.CustomUserDetails;
+import org.authx.auth.authentication.models.User;
+import org.authx.auth.authentication.security.AuthorityRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a loaded user into a principal (CustomUserDetails.buildAuthorities) and of
+ * materializing its GrantedAuthority list, which happens once per Authentication.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorityBuildBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int roles;
+
+    @Param({"3", "10", "50"})
+    public int permissionsPerRole;
+
+    private AuthorityRegistry registry;
+    private User user;
+    private CustomUserDetails details;
+
+    @Setup
+    public void setUp() {
+        registry = new AuthorityRegistry();
+        user = Fixtures.user(roles, permissionsPerRole);
+        // Registering up front mirrors DataInitializer, so the benchmark measures lookups, not inserts
+        details = new CustomUserDetails(user, registry);
+    }
+
+    @Benchmark
+    public CustomUserDetails buildAuthorities() {
+        return new CustomUserDetails(user, registry);
+    }
+
+    @Benchmark
+    public void materializeAuthorities(Blackhole bh) {
+        bh.consume(details.getAuthorities());
+    }
+}
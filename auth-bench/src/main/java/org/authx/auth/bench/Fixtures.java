@@ -0,0 +1,63 @@
+package org.authx.auth.bench;
+
+import org.authx.auth.authentication.models.Permission;
+import org.authx.auth.authentication.models.Role;
+import org.authx.auth.authentication.models.User;
+
+final class Fixtures {
+    private Fixtures() {
+    }
+
+    /**
+     * Detached user shaped like the seeded data: every role has its own permissions plus one
+     * direct permission, so the authority count is roleCount * permissionsPerRole + roleCount + 1.
+     */
+    static User user(int roleCount, int permissionsPerRole) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("bench");
+        user.setEmail("bench@example.com");
+        user.setPassword("{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z0lY3xFZ1nWf7eH8k3Z4lJ0u");
+        for (int r = 0; r < roleCount; r++) {
+            Role role = new Role();
+            role.setId((long) r);
+            role.setName("ROLE_BENCH_" + r);
+            for (int p = 0; p < permissionsPerRole; p++) {
+                role.getPermissions().add(permission((long) r * permissionsPerRole + p, "ROLE" + r + "_PERM_" + p));
+            }
+            user.getRoles().add(role);
+        }
+        user.getPermissions().add(permission(-1L, "DIRECT_PERM"));
+        return user;
+    }
+
+    /**
+     * Detached user shaped like the seeded ROLE_ADMIN plus two direct permissions.
+     */
+    static User adminUser() {
+        Role role = new Role();
+        role.setId(1L);
+        role.setName("ROLE_ADMIN");
+        long id = 0;
+        for (String name : new String[]{"STUDENT_READ", "STUDENT_CREATE", "STUDENT_UPDATE", "STUDENT_DELETE",
+                "ADMIN_CREATE", "ADMIN_READ", "ADMIN_UPDATE", "ADMIN_DELETE"}) {
+            role.getPermissions().add(permission(id++, name));
+        }
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("admin");
+        user.setEmail("admin@school.com");
+        user.getRoles().add(role);
+        user.getPermissions().add(permission(id++, "COURSE_READ"));
+        user.getPermissions().add(permission(id, "TEACHER_READ"));
+        return user;
+    }
+
+    private static Permission permission(long id, String name) {
+        Permission permission = new Permission();
+        permission.setId(id);
+        permission.setName(name);
+        permission.setDescription(name.toLowerCase());
+        return permission;
+    }
+}
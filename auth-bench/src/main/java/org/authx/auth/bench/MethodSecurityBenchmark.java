@@ -0,0 +1,79 @@
+package org.authx.auth.bench;
+
+import org.authx.auth.authentication.models.CustomUserDetails;
+import org.authx.auth.authentication.security.AuthorityChecks;
+import org.authx.auth.authentication.security.AuthorityRegistry;
+import org.authx.auth.authentication.security.RequiresPermission;
+import org.authx.auth.authentication.security.RequiresPermissionAuthorizationManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of {@code @PreAuthorize("hasAuthority(...)")} against {@code @RequiresPermission} on
+ * the same principal, both through a CGLIB proxy like the admin controller's.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodSecurityBenchmark {
+
+    private AdminOperations preAuthorize;
+    private AdminOperations requiresPermission;
+
+    @Setup
+    public void setUp() {
+        AuthorityRegistry registry = new AuthorityRegistry();
+        AuthorityChecks checks = new AuthorityChecks(registry);
+        CustomUserDetails principal = new CustomUserDetails(Fixtures.adminUser(), registry);
+        // The security context is thread-local, so each benchmark thread sets its own
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+
+        RequiresPermissionAuthorizationManager manager = new RequiresPermissionAuthorizationManager(() -> checks);
+        manager.register(AdminOperations.class);
+        preAuthorize = proxy(AuthorizationManagerBeforeMethodInterceptor.preAuthorize());
+        requiresPermission = proxy(manager.interceptor());
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void preAuthorizeExpression() {
+        preAuthorize.createWithExpression();
+    }
+
+    @Benchmark
+    public void requiresPermissionBits() {
+        requiresPermission.createWithPermission();
+    }
+
+    private static AdminOperations proxy(Advisor advisor) {
+        ProxyFactory factory = new ProxyFactory(new AdminOperations());
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(advisor);
+        return (AdminOperations) factory.getProxy();
+    }
+
+    public static class AdminOperations {
+        @PreAuthorize("hasAuthority('ADMIN_CREATE')")
+        public void createWithExpression() {
+        }
+
+        @RequiresPermission("ADMIN_CREATE")
+        public void createWithPermission() {
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.authx.auth.bench;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.authx.auth.authentication.services.OtpCodeGenerator;
+import org.authx.auth.authentication.services.OtpService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OtpService.generateOtp as wired in the application: codes come from the OtpCodeGenerator pool,
+ * with inline DRBG generation once the pool is drained. See OtpCodeContentionBenchmark for the
+ * comparison against the old shared SecureRandom.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OtpGenerationBenchmark {
+
+    private OtpCodeGenerator codeGenerator;
+    private OtpService otpService;
+
+    @Setup
+    public void setUp() {
+        codeGenerator = new OtpCodeGenerator(new SimpleMeterRegistry(), 4096, 0, Duration.ofSeconds(1), false);
+        codeGenerator.start();
+        // generateOtp only touches the generator; store, publisher and metrics are unused here
+        otpService = new OtpService(null, null, null, codeGenerator);
+    }
+
+    @TearDown
+    public void tearDown() {
+        codeGenerator.stop();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String singleThread() {
+        return otpService.generateOtp();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String eightThreads() {
+        return otpService.generateOtp();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String allCores() {
+        return otpService.generateOtp();
+    }
+}
@@ -0,0 +1,232 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load driver for scripts/load-compare.sh; runs against one service at a time. Holds
+ * {@code slowClients} connections that trickle a request body one byte every few seconds while
+ * {@code users} virtual users run register -> (request OTP -> login -> refresh) x {@code iterations}.
+ * OTP codes are read from the service's file sender outbox.
+ * <p>
+ * Usage: java LoadCompare.java &lt;base-url&gt; &lt;otp-outbox&gt; [users] [iterations] [slow-clients]
+ * <p>
+ * The last line of output is {@code RESULT <req/s> <p50 ms> <p99 ms> <errors> <requests>}.
+ */
+public class LoadCompare {
+    private static final Pattern REFRESH_TOKEN = Pattern.compile("\"refreshToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Duration OTP_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration SLOW_CLIENT_INTERVAL = Duration.ofSeconds(5);
+
+    private final URI base;
+    private final Path outbox;
+    private final Map<String, CompletableFuture<String>> pendingOtps = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentLinkedQueue<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private volatile boolean running = true;
+
+    LoadCompare(URI base, Path outbox) {
+        this.base = base;
+        this.outbox = outbox;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("usage: java LoadCompare.java <base-url> <otp-outbox> [users] [iterations] [slow-clients]");
+            System.exit(2);
+        }
+        int users = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int iterations = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        int slowClients = args.length > 4 ? Integer.parseInt(args[4]) : 500;
+        new LoadCompare(URI.create(args[0]), Path.of(args[1])).run(users, iterations, slowClients);
+    }
+
+    void run(int users, int iterations, int slowClients) throws Exception {
+        Files.createDirectories(outbox.toAbsolutePath().getParent());
+        if (!Files.exists(outbox)) {
+            Files.createFile(outbox);
+        }
+        Thread tail = Thread.ofPlatform().daemon(true).name("otp-tail").start(this::tailOutbox);
+
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < slowClients; i++) {
+                threads.submit(this::slowClient);
+            }
+
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            String run = Long.toString(System.currentTimeMillis(), 36);
+            for (int u = 0; u < users; u++) {
+                String email = "load-" + run + "-" + u + "@load.test";
+                futures.add(threads.submit(() -> virtualUser(email, iterations)));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (Exception e) {
+                    errors.computeIfAbsent("user", k -> new AtomicLong()).incrementAndGet();
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            running = false;
+            threads.shutdownNow();
+            report(seconds);
+        }
+        tail.interrupt();
+    }
+
+    private Void virtualUser(String email, int iterations) throws Exception {
+        String password = "Password@123";
+        String username = email.substring(0, email.indexOf('@'));
+        if (call("register", "/api/v1/auth/register",
+                "{\"username\":\"" + username + "\",\"email\":\"" + email + "\",\"password\":\"" + password + "\"}",
+                201) == null) {
+            return null;
+        }
+
+        for (int i = 0; i < iterations; i++) {
+            CompletableFuture<String> otp = pendingOtps.computeIfAbsent(email, k -> new CompletableFuture<>());
+            try {
+                if (call("request-otp", "/api/v1/auth/login/request-otp",
+                        "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}", 200) == null) {
+                    continue;
+                }
+                String code = otp.get(OTP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+                String login = call("login", "/api/v1/auth/login",
+                        "{\"email\":\"" + email + "\",\"otp\":\"" + code + "\"}", 200);
+                Matcher refreshToken = login == null ? null : REFRESH_TOKEN.matcher(login);
+                if (refreshToken != null && refreshToken.find()) {
+                    call("refresh", "/api/v1/auth/token/refresh",
+                            "{\"refreshToken\":\"" + refreshToken.group(1) + "\"}", 200);
+                }
+            } finally {
+                pendingOtps.remove(email);
+            }
+        }
+        return null;
+    }
+
+    // Returns the body on the expected status, null (and counts an error) otherwise
+    private String call(String op, String path, String json, int expectedStatus) {
+        HttpRequest request = HttpRequest.newBuilder(base.resolve(path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            latencies.computeIfAbsent(op, k -> new ConcurrentLinkedQueue<>()).add(System.nanoTime() - start);
+            if (response.statusCode() == expectedStatus) {
+                return response.body();
+            }
+        } catch (IOException e) {
+            latencies.computeIfAbsent(op, k -> new ConcurrentLinkedQueue<>()).add(System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        errors.computeIfAbsent(op, k -> new AtomicLong()).incrementAndGet();
+        return null;
+    }
+
+    // Sends headers promising a body, then one byte at a time, never finishing the request
+    private Void slowClient() {
+        try (Socket socket = new Socket(base.getHost(), base.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(("POST /api/v1/auth/login HTTP/1.1\r\nHost: " + base.getHost()
+                    + "\r\nContent-Type: application/json\r\nContent-Length: 100000\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            while (running) {
+                Thread.sleep(SLOW_CLIENT_INTERVAL);
+                out.write(' ');
+                out.flush();
+            }
+        } catch (IOException | InterruptedException e) {
+            // Server gave up on us or the run is over
+        }
+        return null;
+    }
+
+    // Follows the outbox from its current end; lines are "email,type,code"
+    private void tailOutbox() {
+        try (RandomAccessFile file = new RandomAccessFile(outbox.toFile(), "r")) {
+            file.seek(file.length());
+            while (!Thread.currentThread().isInterrupted()) {
+                String line = file.readLine();
+                if (line == null) {
+                    Thread.sleep(5);
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length == 3 && "LOGIN".equals(fields[1])) {
+                    pendingOtps.computeIfAbsent(fields[0], k -> new CompletableFuture<>()).complete(fields[2]);
+                }
+            }
+        } catch (IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void report(double seconds) {
+        System.out.printf("%-12s %8s %8s %10s %10s %10s%n", "op", "count", "errors", "p50 (ms)", "p99 (ms)", "max (ms)");
+        long[] all = new long[0];
+        long totalErrors = 0;
+        for (Map.Entry<String, ConcurrentLinkedQueue<Long>> op : new TreeMap<>(latencies).entrySet()) {
+            long[] sorted = op.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+            long opErrors = errors.getOrDefault(op.getKey(), new AtomicLong()).get();
+            System.out.printf("%-12s %8d %8d %10.1f %10.1f %10.1f%n", op.getKey(), sorted.length, opErrors,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0));
+            all = concat(all, sorted);
+        }
+        for (AtomicLong count : errors.values()) {
+            totalErrors += count.get();
+        }
+        Arrays.sort(all);
+        System.out.printf("RESULT %.1f %.1f %.1f %d %d%n", all.length / seconds,
+                percentile(all, 0.50), percentile(all, 0.99), totalErrors, all.length);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
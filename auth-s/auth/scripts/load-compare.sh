@@ -0,0 +1,79 @@
+#!/usr/bin/env bash
+# Runs the same login load against the servlet auth module and this reactive module, one after the
+# other, against the same database, while holding open many slow clients (connections that trickle a
+# request body). Reports latency percentiles, errors, throughput, OS threads and resident memory.
+#
+# Build first:  (cd ../../auth && mvn package -DskipTests) && mvn package -DskipTests
+# Usage:        scripts/load-compare.sh [users] [iterations] [slow-clients]
+# Env:          EVENT_LOOPS (reactive I/O threads, default 4), JAVA_OPTS (both services)
+# The database from application.properties (or SPRING_DATASOURCE_*/SPRING_R2DBC_* env vars) must be reachable.
+# AUTH_TOKEN_SECRET is generated for the run when not set.
+set -euo pipefail
+export AUTH_TOKEN_SECRET=${AUTH_TOKEN_SECRET:-$(head -c 32 /dev/urandom | base64)}
+
+cd "$(dirname "$0")/.."
+USERS=${1:-200}
+ITERATIONS=${2:-5}
+SLOW_CLIENTS=${3:-500}
+EVENT_LOOPS=${EVENT_LOOPS:-4}
+read -r -a JVM_OPTS <<<"${JAVA_OPTS:-}"
+
+SERVLET_JAR=$(ls ../../auth/target/auth-*-exec.jar 2>/dev/null | head -n1 || true)
+REACTIVE_JAR=$(ls target/auth-*.jar 2>/dev/null | grep -v '\.original$' | head -n1 || true)
+PORT=18083
+WORK=$(mktemp -d)
+RESULTS=$WORK/results
+trap 'rm -rf "$WORK"' EXIT
+
+# Runs the driver against one service, appends "<name> <req/s> <p50> <p99> <errors> <requests> <threads> <rss kB>"
+measure() {
+  local name=$1; shift
+  local outbox=$WORK/$name-outbox.txt log=$WORK/$name.log
+  : >"$outbox"
+  "$@" --server.port=$PORT --auth.otp.delivery.sender=file --auth.otp.delivery.file="$outbox" \
+    --logging.level.root=WARN >"$log" 2>&1 &
+  local pid=$!
+  until curl -fs "http://localhost:$PORT/actuator/health" >/dev/null 2>&1; do
+    if ! kill -0 $pid 2>/dev/null; then
+      echo "$name failed to start, log follows:" >&2; cat "$log" >&2; return 1
+    fi
+    sleep 0.1
+  done
+
+  # Sample threads and RSS while the load is running, keep the peak
+  local peak=$WORK/$name-peak
+  echo "0 0" >"$peak"
+  ( while kill -0 $pid 2>/dev/null; do
+      read -r threads rss < <(ps -o nlwp=,rss= -p $pid) || break
+      read -r max_threads max_rss <"$peak"
+      echo "$(( threads > max_threads ? threads : max_threads )) $(( rss > max_rss ? rss : max_rss ))" >"$peak"
+      sleep 0.5
+    done ) &
+  local sampler=$!
+
+  echo "== $name"
+  java scripts/LoadCompare.java "http://localhost:$PORT" "$outbox" "$USERS" "$ITERATIONS" "$SLOW_CLIENTS" | tee "$WORK/$name.out"
+  kill $pid; wait $pid 2>/dev/null || true
+  wait $sampler 2>/dev/null || true
+
+  echo "$name $(grep '^RESULT ' "$WORK/$name.out" | cut -d' ' -f2-) $(cat "$peak")" >>"$RESULTS"
+}
+
+if [[ -n "$SERVLET_JAR" ]]; then
+  # The servlet module's per-IP and per-email limits would reject most of the load
+  measure servlet java ${JVM_OPTS[@]+"${JVM_OPTS[@]}"} -jar "$SERVLET_JAR" --auth.rate-limit.enabled=false
+else
+  echo "No executable jar in ../../auth/target, skipping servlet" >&2
+fi
+if [[ -n "$REACTIVE_JAR" ]]; then
+  measure reactive java ${JVM_OPTS[@]+"${JVM_OPTS[@]}"} -Dreactor.netty.ioWorkerCount="$EVENT_LOOPS" -jar "$REACTIVE_JAR"
+else
+  echo "No executable jar in target/, skipping reactive" >&2
+fi
+
+[[ -s "$RESULTS" ]] || exit 1
+printf '\n%-9s %10s %10s %10s %8s %10s %12s %10s\n' service "req/s" "p50 (ms)" "p99 (ms)" errors requests "peak threads" "RSS (MB)"
+while read -r name rps p50 p99 errors requests threads rss; do
+  printf '%-9s %10s %10s %10s %8s %10s %12s %10.1f\n' "$name" "$rps" "$p50" "$p99" "$errors" "$requests" "$threads" \
+    "$(awk -v kb="$rss" 'BEGIN { print kb / 1024 }')"
+done <"$RESULTS"
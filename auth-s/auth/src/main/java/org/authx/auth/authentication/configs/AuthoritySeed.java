@@ -0,0 +1,29 @@
+package org.authx.auth.authentication.configs;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Declared role/permission catalog from {@code authority-catalog.json}. A role listing {@code "*"}
+ * gets every permission in the table.
+ */
+public record AuthoritySeed(Map<String, String> permissions, Map<String, List<String>> roles) {
+    public static final String RESOURCE = "authority-catalog.json";
+    public static final String ALL_PERMISSIONS = "*";
+
+    public static AuthoritySeed load(JsonMapper jsonMapper) {
+        try (InputStream in = AuthoritySeed.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException(RESOURCE + " not found on the classpath");
+            }
+            return jsonMapper.readValue(in, AuthoritySeed.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.authx.auth.authentication.configs;
+
+import org.authx.auth.authentication.models.User;
+import org.authx.auth.authentication.repositories.AuthorityCatalogRepository;
+import org.authx.auth.authentication.repositories.AuthorityCatalogRepository.PermissionRow;
+import org.authx.auth.authentication.repositories.AuthorityCatalogRepository.RoleRow;
+import org.authx.auth.authentication.repositories.UserAuthorityRepository;
+import org.authx.auth.authentication.repositories.UserAuthorityRepository.JoinTable;
+import org.authx.auth.authentication.repositories.UserRepository;
+import org.authx.auth.authentication.security.BoundedPasswordHasher;
+import org.authx.auth.authentication.services.AuthorityCatalog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Seeds the catalog and the super admin at startup, blocking until done. Seeding is additive only:
+ * missing permissions, roles and role grants are inserted, nothing is updated or removed, and
+ * {@code catalog_state} is left to the servlet module, which owns the catalog when both share a database.
+ */
+@Component
+@Order(1)
+public class DataInitializer implements CommandLineRunner {
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+    private static final String SUPER_ADMIN_EMAIL = "superadmin@school.com";
+
+    private final AuthorityCatalogRepository catalogRepository;
+    private final UserRepository userRepository;
+    private final UserAuthorityRepository userAuthorityRepository;
+    private final BoundedPasswordHasher passwordHasher;
+    private final AuthorityCatalog authorityCatalog;
+    private final TransactionalOperator transactionalOperator;
+    private final JsonMapper jsonMapper;
+
+    public DataInitializer(AuthorityCatalogRepository catalogRepository,
+                           UserRepository userRepository,
+                           UserAuthorityRepository userAuthorityRepository,
+                           BoundedPasswordHasher passwordHasher,
+                           AuthorityCatalog authorityCatalog,
+                           TransactionalOperator transactionalOperator,
+                           JsonMapper jsonMapper) {
+        this.catalogRepository = catalogRepository;
+        this.userRepository = userRepository;
+        this.userAuthorityRepository = userAuthorityRepository;
+        this.passwordHasher = passwordHasher;
+        this.authorityCatalog = authorityCatalog;
+        this.transactionalOperator = transactionalOperator;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public void run(String... args) {
+        AuthoritySeed seed = AuthoritySeed.load(jsonMapper);
+
+        applyCatalog(seed)
+                .then(initializeSuperAdmin())
+                .as(transactionalOperator::transactional)
+                .block();
+
+        // Drop anything loaded before the seed was committed
+        authorityCatalog.refresh();
+    }
+
+    private Mono<Void> applyCatalog(AuthoritySeed seed) {
+        Mono<Long> permissions = catalogRepository.findPermissions().map(PermissionRow::name).collect(Collectors.toSet())
+                .flatMapMany(existing -> Flux.fromIterable(new TreeMap<>(seed.permissions()).entrySet())
+                        .filter(permission -> !existing.contains(permission.getKey())))
+                .concatMap(permission -> catalogRepository.insertPermission(permission.getKey(), permission.getValue()))
+                .count();
+
+        Mono<Long> roles = catalogRepository.findRoles().map(RoleRow::name).collect(Collectors.toSet())
+                .flatMapMany(existing -> Flux.fromIterable(new TreeSet<>(seed.roles().keySet()))
+                        .filter(name -> !existing.contains(name)))
+                .concatMap(catalogRepository::insertRole)
+                .count();
+
+        // Reads ids after the inserts above, so new roles and permissions are included
+        Mono<Long> rolePermissions = Mono.zip(
+                        catalogRepository.findPermissions().collectMap(PermissionRow::name, PermissionRow::id),
+                        catalogRepository.findRoles().collectMap(RoleRow::name, RoleRow::id),
+                        catalogRepository.findRolePermissions().map(row -> new RolePermission(row[0], row[1])).collect(Collectors.toSet()))
+                .flatMapMany(rows -> Flux.fromIterable(missingGrants(seed, rows.getT1(), rows.getT2(), rows.getT3())))
+                .concatMap(row -> catalogRepository.insertRolePermission(row.roleId(), row.permissionId()))
+                .count();
+
+        return permissions.flatMap(newPermissions -> roles.flatMap(newRoles -> rolePermissions.doOnNext(newGrants ->
+                log.info("Authority catalog applied: +{} permissions, +{} roles, +{} role permissions",
+                        newPermissions, newRoles, newGrants))))
+                .then();
+    }
+
+    private static List<RolePermission> missingGrants(AuthoritySeed seed, Map<String, Long> permissions,
+                                                      Map<String, Long> roles, Set<RolePermission> existing) {
+        Set<RolePermission> desired = new HashSet<>();
+        for (Map.Entry<String, List<String>> role : seed.roles().entrySet()) {
+            long roleId = roles.get(role.getKey());
+            for (String granted : role.getValue()) {
+                if (AuthoritySeed.ALL_PERMISSIONS.equals(granted)) {
+                    permissions.values().forEach(permissionId -> desired.add(new RolePermission(roleId, permissionId)));
+                } else {
+                    Long permissionId = permissions.get(granted);
+                    if (permissionId == null) {
+                        throw new IllegalStateException("Role " + role.getKey() + " grants undeclared permission " + granted);
+                    }
+                    desired.add(new RolePermission(roleId, permissionId));
+                }
+            }
+        }
+        return desired.stream().filter(row -> !existing.contains(row)).sorted(RolePermission.ORDER).toList();
+    }
+
+    private Mono<Void> initializeSuperAdmin() {
+        return userRepository.existsByEmail(SUPER_ADMIN_EMAIL)
+                .filter(exists -> !exists)
+                .flatMap(absent -> Mono.zip(
+                        passwordHasher.encode("SuperAdmin@123"),
+                        catalogRepository.findRoles().filter(role -> role.name().equals("ROLE_SUPER_ADMIN")).next()
+                                .switchIfEmpty(Mono.error(() -> new RuntimeException("ROLE_SUPER_ADMIN not found")))))
+                .flatMap(created -> {
+                    User superAdmin = new User();
+                    superAdmin.setUsername("superadmin");
+                    superAdmin.setEmail(SUPER_ADMIN_EMAIL);
+                    superAdmin.setPassword(created.getT1());
+                    superAdmin.setEnabled(true);
+
+                    long roleId = created.getT2().id();
+                    return userRepository.save(superAdmin)
+                            .flatMap(saved -> userAuthorityRepository.insert(JoinTable.USER_ROLES,
+                                    List.of(new long[]{saved.getId(), roleId}), 1));
+                })
+                .doOnNext(rows -> System.out.println("Super Admin created: superadmin@school.com / SuperAdmin@123"))
+                .then();
+    }
+
+    private record RolePermission(long roleId, long permissionId) {
+        static final Comparator<RolePermission> ORDER =
+                Comparator.comparingLong(RolePermission::roleId).thenComparingLong(RolePermission::permissionId);
+    }
+}
@@ -0,0 +1,30 @@
+package org.authx.auth.authentication.configs;
+
+import org.authx.auth.authentication.security.BoundedPasswordHasher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+
+import java.util.Map;
+
+@Configuration
+public class PasswordConfig {
+
+    private static final String BCRYPT_ID = "bcrypt";
+
+    @Bean(destroyMethod = "close")
+    public BoundedPasswordHasher passwordHasher(@Value("${auth.password.hashing.threads:0}") int threads,
+                                                @Value("${auth.password.hashing.queue-capacity:64}") int queueCapacity,
+                                                @Value("${auth.password.bcrypt.strength:10}") int strength) {
+        // Same {bcrypt} format as the servlet module, so either service verifies the other's hashes
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(BCRYPT_ID,
+                Map.of(BCRYPT_ID, new BCryptPasswordEncoder(strength)));
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        // 0 means one hashing thread per available core
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordHasher(delegating, poolSize, queueCapacity);
+    }
+}
@@ -0,0 +1,86 @@
+package org.authx.auth.authentication.configs;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtGrantedAuthoritiesConverterAdapter;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Base64;
+
+/**
+ * Same token format as the servlet module (HS256, {@code uid}/{@code authorities}/{@code token_type}
+ * claims), so with a shared {@code auth.token.secret} either service accepts the other's tokens.
+ */
+@Configuration
+public class TokenConfig {
+
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_AUTHORITIES = "authorities";
+    public static final String CLAIM_TOKEN_TYPE = "token_type";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    public static final String TOKEN_TYPE_ACCESS = "access";
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+
+    @Bean
+    public SecretKey tokenSigningKey(@Value("${auth.token.secret:}") String secret) {
+        // No built-in fallback: a key shipped with the code would let anyone mint tokens
+        if (secret.isBlank()) {
+            throw new IllegalStateException(
+                    "auth.token.secret is not set; provide AUTH_TOKEN_SECRET (base64, at least 32 bytes)");
+        }
+        byte[] key = Base64.getDecoder().decode(secret);
+        if (key.length < 32) {
+            throw new IllegalStateException("auth.token.secret must decode to at least 32 bytes");
+        }
+        return new SecretKeySpec(key, "HmacSHA256");
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(SecretKey tokenSigningKey) {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(tokenSigningKey));
+    }
+
+    // Used by the resource server filter: accepts access tokens only, verified locally without any lookup
+    @Bean
+    public ReactiveJwtDecoder jwtDecoder(SecretKey tokenSigningKey) {
+        return decoderFor(tokenSigningKey, TOKEN_TYPE_ACCESS);
+    }
+
+    // Authorities come from the token as-is (ROLE_* names and permission names, no prefix added)
+    @Bean
+    public Converter<Jwt, Mono<AbstractAuthenticationToken>> jwtAuthenticationConverter() {
+        JwtGrantedAuthoritiesConverter authorities = new JwtGrantedAuthoritiesConverter();
+        authorities.setAuthoritiesClaimName(CLAIM_AUTHORITIES);
+        authorities.setAuthorityPrefix("");
+        ReactiveJwtAuthenticationConverter converter = new ReactiveJwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(new ReactiveJwtGrantedAuthoritiesConverterAdapter(authorities));
+        return converter;
+    }
+
+    public static NimbusReactiveJwtDecoder decoderFor(SecretKey key, String tokenType) {
+        NimbusReactiveJwtDecoder decoder = NimbusReactiveJwtDecoder.withSecretKey(key)
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefault(),
+                new JwtClaimValidator<String>(CLAIM_TOKEN_TYPE, tokenType::equals)));
+        return decoder;
+    }
+}
@@ -0,0 +1,137 @@
+package org.authx.auth.authentication.controllers;
+
+import jakarta.validation.Valid;
+import org.authx.auth.authentication.dtos.BulkUpdateResponse;
+import org.authx.auth.authentication.dtos.BulkUpdateUserPermissionsRequest;
+import org.authx.auth.authentication.dtos.BulkUpdateUserRolesRequest;
+import org.authx.auth.authentication.dtos.CreateAdminRequest;
+import org.authx.auth.authentication.dtos.UpdateUserPermissionsRequest;
+import org.authx.auth.authentication.dtos.UpdateUserRolesRequest;
+import org.authx.auth.authentication.dtos.UserPage;
+import org.authx.auth.authentication.models.ApiResponse;
+import org.authx.auth.authentication.models.User;
+import org.authx.auth.authentication.services.BulkAssignmentService;
+import org.authx.auth.authentication.services.UserDirectoryService;
+import org.authx.auth.authentication.services.UserManagementService;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+public class AdminController {
+    private static final DataBufferFactory BUFFERS = DefaultDataBufferFactory.sharedInstance;
+
+    private final UserManagementService userManagementService;
+    private final BulkAssignmentService bulkAssignmentService;
+    private final UserDirectoryService userDirectoryService;
+
+    public AdminController(UserManagementService userManagementService,
+                           BulkAssignmentService bulkAssignmentService,
+                           UserDirectoryService userDirectoryService) {
+        this.userManagementService = userManagementService;
+        this.bulkAssignmentService = bulkAssignmentService;
+        this.userDirectoryService = userDirectoryService;
+    }
+
+    @GetMapping("/users")
+    @PreAuthorize("hasAuthority('ADMIN_READ')")
+    public Mono<ResponseEntity<ApiResponse<UserPage>>> listUsers(
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "50") int limit) {
+        return userDirectoryService.listUsers(afterId, limit)
+                .map(page -> ok("Users retrieved successfully", page))
+                .onErrorResume(IllegalArgumentException.class, AdminController::badRequest);
+    }
+
+    // Written as raw buffers so the codecs don't re-encode each line as a JSON string. Wrapped in a Mono
+    // because reactive method security only intercepts methods that return a Publisher
+    @GetMapping("/users/export")
+    @PreAuthorize("hasAuthority('ADMIN_READ')")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        return switch (format) {
+            case "ndjson" -> Mono.just(ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"")
+                    .body(userDirectoryService.exportNdjson().map(AdminController::buffer)));
+            case "csv" -> Mono.just(ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\"")
+                    .body(userDirectoryService.exportCsv().map(AdminController::buffer)));
+            default -> Mono.error(new IllegalArgumentException("Unsupported export format: " + format));
+        };
+    }
+
+    @PostMapping("/create")
+    @PreAuthorize("hasAuthority('ADMIN_CREATE')")
+    public Mono<ResponseEntity<ApiResponse<User>>> createAdmin(@Valid @RequestBody CreateAdminRequest request) {
+        return userManagementService.createAdmin(request)
+                .map(admin -> ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponse<>(
+                        HttpStatus.CREATED.value(),
+                        "Admin created successfully",
+                        admin
+                )))
+                .onErrorResume(IllegalArgumentException.class, AdminController::badRequest);
+    }
+
+    @PutMapping("/users/{userId}/roles")
+    @PreAuthorize("hasAuthority('USER_ROLE_UPDATE')")
+    public Mono<ResponseEntity<ApiResponse<User>>> updateUserRoles(
+            @PathVariable Long userId,
+            @Valid @RequestBody UpdateUserRolesRequest request) {
+        return userManagementService.updateUserRoles(userId, request)
+                .map(user -> ok("User roles updated successfully", user))
+                .onErrorResume(IllegalArgumentException.class, AdminController::badRequest);
+    }
+
+    @PutMapping("/users/{userId}/permissions")
+    @PreAuthorize("hasAuthority('USER_PERMISSION_UPDATE')")
+    public Mono<ResponseEntity<ApiResponse<User>>> updateUserPermissions(
+            @PathVariable Long userId,
+            @Valid @RequestBody UpdateUserPermissionsRequest request) {
+        return userManagementService.updateUserPermissions(userId, request)
+                .map(user -> ok("User permissions updated successfully", user))
+                .onErrorResume(IllegalArgumentException.class, AdminController::badRequest);
+    }
+
+    @PutMapping("/users/roles")
+    @PreAuthorize("hasAuthority('USER_ROLE_UPDATE')")
+    public Mono<ResponseEntity<ApiResponse<BulkUpdateResponse>>> bulkUpdateUserRoles(
+            @Valid @RequestBody BulkUpdateUserRolesRequest request) {
+        return bulkAssignmentService.updateRoles(request)
+                .map(result -> ok("User roles updated successfully", result))
+                .onErrorResume(IllegalArgumentException.class, AdminController::badRequest);
+    }
+
+    @PutMapping("/users/permissions")
+    @PreAuthorize("hasAuthority('USER_PERMISSION_UPDATE')")
+    public Mono<ResponseEntity<ApiResponse<BulkUpdateResponse>>> bulkUpdateUserPermissions(
+            @Valid @RequestBody BulkUpdateUserPermissionsRequest request) {
+        return bulkAssignmentService.updatePermissions(request)
+                .map(result -> ok("User permissions updated successfully", result))
+                .onErrorResume(IllegalArgumentException.class, AdminController::badRequest);
+    }
+
+    private static <T> ResponseEntity<ApiResponse<T>> ok(String message, T data) {
+        return ResponseEntity.ok(new ApiResponse<>(HttpStatus.OK.value(), message, data));
+    }
+
+    private static <T> Mono<ResponseEntity<ApiResponse<T>>> badRequest(IllegalArgumentException e) {
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ApiResponse<>(HttpStatus.BAD_REQUEST.value(), e.getMessage(), null)));
+    }
+
+    private static DataBuffer buffer(String chunk) {
+        return BUFFERS.wrap(chunk.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,114 @@
+package org.authx.auth.authentication.controllers;
+
+import jakarta.validation.Valid;
+import org.authx.auth.authentication.dtos.LoginOtpRequest;
+import org.authx.auth.authentication.dtos.LoginRequest;
+import org.authx.auth.authentication.dtos.PasswordResetConfirm;
+import org.authx.auth.authentication.dtos.PasswordResetRequest;
+import org.authx.auth.authentication.dtos.RefreshTokenRequest;
+import org.authx.auth.authentication.dtos.RegisterRequest;
+import org.authx.auth.authentication.dtos.TokenResponse;
+import org.authx.auth.authentication.models.ApiResponse;
+import org.authx.auth.authentication.models.User;
+import org.authx.auth.authentication.services.AuthenticationService;
+import org.authx.auth.authentication.services.TokenService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/auth")
+public class AuthenticationController {
+
+    private final AuthenticationService authenticationService;
+    private final TokenService tokenService;
+
+    public AuthenticationController(AuthenticationService authenticationService,
+                                    TokenService tokenService) {
+        this.authenticationService = authenticationService;
+        this.tokenService = tokenService;
+    }
+
+    @PostMapping("/register")
+    public Mono<ResponseEntity<ApiResponse<User>>> register(@Valid @RequestBody RegisterRequest request) {
+        return authenticationService.register(request)
+                .map(user -> ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponse<>(
+                        HttpStatus.CREATED.value(),
+                        "User registered successfully",
+                        user
+                )))
+                .onErrorResume(IllegalArgumentException.class, e -> error(HttpStatus.BAD_REQUEST, e));
+    }
+
+    @PostMapping("/login/request-otp")
+    public Mono<ResponseEntity<ApiResponse<Void>>> requestLoginOtp(@Valid @RequestBody LoginOtpRequest request) {
+        return authenticationService.requestLoginOtp(request.getEmail(), request.getPassword())
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(new ApiResponse<Void>(
+                        HttpStatus.OK.value(),
+                        "OTP sent to your email",
+                        null
+                ))))
+                .onErrorResume(IllegalArgumentException.class, e -> error(HttpStatus.BAD_REQUEST, e));
+    }
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<ApiResponse<TokenResponse>>> login(@Valid @RequestBody LoginRequest request) {
+        return authenticationService.verifyLoginOtp(request.getEmail(), request.getOtp())
+                .flatMap(isValid -> {
+                    if (!isValid) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new ApiResponse<TokenResponse>(
+                                HttpStatus.UNAUTHORIZED.value(),
+                                "Invalid or expired OTP",
+                                null
+                        )));
+                    }
+                    // Issue a signed access token; later requests authenticate with it without touching the database
+                    return authenticationService.getUserByEmail(request.getEmail())
+                            .flatMap(tokenService::issueTokens)
+                            .map(tokens -> ResponseEntity.ok(new ApiResponse<>(
+                                    HttpStatus.OK.value(),
+                                    "Login successful",
+                                    tokens
+                            )));
+                })
+                .onErrorResume(IllegalArgumentException.class, e -> error(HttpStatus.BAD_REQUEST, e));
+    }
+
+    @PostMapping("/token/refresh")
+    public Mono<ResponseEntity<ApiResponse<TokenResponse>>> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        return tokenService.refresh(request.getRefreshToken())
+                .map(tokens -> ResponseEntity.ok(new ApiResponse<>(
+                        HttpStatus.OK.value(),
+                        "Token refreshed successfully",
+                        tokens
+                )))
+                .onErrorResume(IllegalArgumentException.class, e -> error(HttpStatus.UNAUTHORIZED, e));
+    }
+
+    @PostMapping("/password-reset/request")
+    public Mono<ResponseEntity<ApiResponse<Void>>> requestPasswordReset(@Valid @RequestBody PasswordResetRequest request) {
+        return authenticationService.requestPasswordResetOtp(request.getEmail())
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(new ApiResponse<Void>(
+                        HttpStatus.OK.value(),
+                        "Password reset OTP sent to your email",
+                        null
+                ))))
+                .onErrorResume(IllegalArgumentException.class, e -> error(HttpStatus.BAD_REQUEST, e));
+    }
+
+    @PostMapping("/password-reset/confirm")
+    public Mono<ResponseEntity<ApiResponse<Void>>> confirmPasswordReset(@Valid @RequestBody PasswordResetConfirm request) {
+        return authenticationService.resetPassword(request.getEmail(), request.getOtp(), request.getNewPassword())
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(new ApiResponse<Void>(
+                        HttpStatus.OK.value(),
+                        "Password reset successfully",
+                        null
+                ))))
+                .onErrorResume(IllegalArgumentException.class, e -> error(HttpStatus.BAD_REQUEST, e));
+    }
+
+    private static <T> Mono<ResponseEntity<ApiResponse<T>>> error(HttpStatus status, IllegalArgumentException e) {
+        return Mono.just(ResponseEntity.status(status).body(new ApiResponse<>(status.value(), e.getMessage(), null)));
+    }
+}
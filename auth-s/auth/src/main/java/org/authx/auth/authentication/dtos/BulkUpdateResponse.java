@@ -0,0 +1,16 @@
+package org.authx.auth.authentication.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResponse {
+    private int users;       // users whose assignments were replaced
+    private int rows;        // join-table rows written
+    private int transactions;
+}
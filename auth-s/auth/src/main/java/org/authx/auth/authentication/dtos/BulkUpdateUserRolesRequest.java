@@ -0,0 +1,30 @@
+package org.authx.auth.authentication.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Set;
+
+@Getter
+@Setter
+public class BulkUpdateUserRolesRequest {
+    @NotEmpty(message = "At least one assignment is required")
+    @Size(max = 10000, message = "At most 10000 assignments per request")
+    @Valid
+    private List<Assignment> assignments;
+
+    @Getter
+    @Setter
+    public static class Assignment {
+        @NotNull(message = "User id is required")
+        private Long userId;
+
+        @NotEmpty(message = "At least one role is required")
+        private Set<String> roles; // Replaces the user's roles, like the single-user endpoint
+    }
+}
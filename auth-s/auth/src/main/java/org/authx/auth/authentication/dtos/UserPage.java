@@ -0,0 +1,17 @@
+package org.authx.auth.authentication.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPage {
+    private List<UserSummary> users;
+    private Long nextAfterId; // Pass as afterId for the next page; null on the last page
+}
@@ -0,0 +1,38 @@
+package org.authx.auth.authentication.models;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Table("otps")
+@Getter
+@Setter
+@NoArgsConstructor
+public class Otp {
+    @Id
+    private Long id;
+
+    private String email;
+
+    private String code;
+
+    private OtpType type;
+
+    @Column("expires_at")
+    private LocalDateTime expiresAt;
+
+    private boolean used = false;
+
+    @Column("created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public enum OtpType {
+        LOGIN,
+        PASSWORD_RESET
+    }
+}
@@ -0,0 +1,18 @@
+package org.authx.auth.authentication.models;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class Permission {
+    private Long id;
+
+    // Use uppercase constant-like names: STUDENT_READ, STUDENT_CREATE etc.
+    @EqualsAndHashCode.Include
+    private String name;
+
+    private String description;
+}
@@ -0,0 +1,20 @@
+package org.authx.auth.authentication.models;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class Role {
+    private Long id;
+
+    @EqualsAndHashCode.Include
+    private String name; // e.g. ROLE_TEACHER, ROLE_ADMIN
+
+    private Set<Permission> permissions = new HashSet<>();
+}
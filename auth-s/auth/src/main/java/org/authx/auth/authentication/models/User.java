@@ -0,0 +1,45 @@
+package org.authx.auth.authentication.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Row of the {@code users} table. Roles and direct permissions live in the join tables and are not
+ * mapped by R2DBC; services fill them in from the authority catalog when a response needs them, so
+ * the JSON matches the servlet module's.
+ */
+@Table("users")
+@Setter
+@Getter
+public class User {
+    @Id
+    private Long id;
+
+    private String username;
+
+    @JsonIgnore
+    private String password;
+
+    private String email;
+    private boolean enabled = true;
+
+    // Incremented when the password is reset; refresh tokens carrying an older version are refused
+    @JsonIgnore
+    @Column("token_version")
+    private int tokenVersion;
+
+    @Transient
+    private Set<Role> roles = new HashSet<>();
+
+    // direct permissions (overrides/additions)
+    @Transient
+    private Set<Permission> permissions = new HashSet<>();
+}
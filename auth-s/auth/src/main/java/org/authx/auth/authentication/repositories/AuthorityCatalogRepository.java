@@ -0,0 +1,68 @@
+package org.authx.auth.authentication.repositories;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads and additive writes for the roles, permissions and role_permissions tables.
+ */
+@Repository
+public class AuthorityCatalogRepository {
+    private final DatabaseClient databaseClient;
+
+    public AuthorityCatalogRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<PermissionRow> findPermissions() {
+        return databaseClient.sql("SELECT id, name, description FROM permissions")
+                .map(row -> new PermissionRow(row.get(0, Long.class), row.get(1, String.class), row.get(2, String.class)))
+                .all();
+    }
+
+    public Flux<RoleRow> findRoles() {
+        return databaseClient.sql("SELECT id, name FROM roles")
+                .map(row -> new RoleRow(row.get(0, Long.class), row.get(1, String.class)))
+                .all();
+    }
+
+    /**
+     * @return {role_id, permission_id} pairs
+     */
+    public Flux<long[]> findRolePermissions() {
+        return databaseClient.sql("SELECT role_id, permission_id FROM role_permissions")
+                .map(row -> new long[]{row.get(0, Long.class), row.get(1, Long.class)})
+                .all();
+    }
+
+    public Mono<Long> insertPermission(String name, String description) {
+        return databaseClient.sql("INSERT INTO permissions (name, description) VALUES (:name, :description)")
+                .bind("name", name)
+                .bind("description", description)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> insertRole(String name) {
+        return databaseClient.sql("INSERT INTO roles (name) VALUES (:name)")
+                .bind("name", name)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> insertRolePermission(long roleId, long permissionId) {
+        return databaseClient.sql("INSERT INTO role_permissions (role_id, permission_id) VALUES (:roleId, :permissionId)")
+                .bind("roleId", roleId)
+                .bind("permissionId", permissionId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public record PermissionRow(long id, String name, String description) {
+    }
+
+    public record RoleRow(long id, String name) {
+    }
+}
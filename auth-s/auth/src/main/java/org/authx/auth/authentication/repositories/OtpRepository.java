@@ -0,0 +1,28 @@
+package org.authx.auth.authentication.repositories;
+
+import org.authx.auth.authentication.models.Otp;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+// Enum columns are bound as their names
+@Repository
+public interface OtpRepository extends ReactiveCrudRepository<Otp, Long> {
+
+    // idx_otp_latest (email, type, used, created_at) is read newest first; expires_at is checked per row
+    @Query("SELECT * FROM otps WHERE email = :email AND type = :type AND used = FALSE AND expires_at > :now "
+            + "ORDER BY created_at DESC LIMIT 1")
+    Mono<Otp> findLatestUsable(String email, String type, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE otps SET used = TRUE WHERE email = :email AND type = :type AND used = FALSE")
+    Mono<Long> invalidateOtps(String email, String type);
+
+    @Modifying
+    @Query("UPDATE otps SET used = TRUE WHERE id = :id AND used = FALSE")
+    Mono<Long> markUsed(Long id);
+}
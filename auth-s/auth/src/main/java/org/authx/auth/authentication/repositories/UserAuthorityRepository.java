@@ -0,0 +1,107 @@
+package org.authx.auth.authentication.repositories;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class UserAuthorityRepository {
+    private static final String AUTHORITIES_SQL = "SELECT r.name FROM user_roles ur "
+            + "JOIN roles r ON r.id = ur.role_id WHERE ur.user_id = :userId "
+            + "UNION SELECT p.name FROM user_roles ur "
+            + "JOIN role_permissions rp ON rp.role_id = ur.role_id "
+            + "JOIN permissions p ON p.id = rp.permission_id WHERE ur.user_id = :userId "
+            + "UNION SELECT p.name FROM user_permissions up "
+            + "JOIN permissions p ON p.id = up.permission_id WHERE up.user_id = :userId";
+
+    private final DatabaseClient databaseClient;
+
+    public UserAuthorityRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Role names, the roles' permissions and direct permissions of one user, in one round trip.
+     */
+    public Flux<String> findAuthorityNames(long userId) {
+        return databaseClient.sql(AUTHORITIES_SQL)
+                .bind("userId", userId)
+                .map(row -> row.get(0, String.class))
+                .all();
+    }
+
+    public Flux<String> findRoleNames(long userId) {
+        return databaseClient.sql("SELECT r.name FROM user_roles ur JOIN roles r ON r.id = ur.role_id WHERE ur.user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get(0, String.class))
+                .all();
+    }
+
+    public Flux<String> findPermissionNames(long userId) {
+        return databaseClient.sql("SELECT p.name FROM user_permissions up JOIN permissions p ON p.id = up.permission_id WHERE up.user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get(0, String.class))
+                .all();
+    }
+
+    /**
+     * @return email by user id for the ids that exist
+     */
+    public Mono<Map<Long, String>> findEmailsByIds(Collection<Long> userIds) {
+        return databaseClient.sql("SELECT id, email FROM users WHERE id IN (:ids)")
+                .bind("ids", userIds)
+                .map(row -> Map.entry(row.get(0, Long.class), row.get(1, String.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    public Mono<Long> deleteForUsers(JoinTable table, Collection<Long> userIds) {
+        return databaseClient.sql("DELETE FROM " + table.table + " WHERE user_id IN (:ids)")
+                .bind("ids", userIds)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Writes the rows as multi-row INSERTs of at most {@code batchSize} rows each.
+     *
+     * @param rows {user_id, role_id or permission_id} pairs, already sorted
+     */
+    public Mono<Long> insert(JoinTable table, List<long[]> rows, int batchSize) {
+        return Flux.range(0, (rows.size() + batchSize - 1) / batchSize)
+                .map(chunk -> rows.subList(chunk * batchSize, Math.min((chunk + 1) * batchSize, rows.size())))
+                .concatMap(chunk -> insertChunk(table, chunk))
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> insertChunk(JoinTable table, List<long[]> rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table.table)
+                .append(" (user_id, ").append(table.authorityColumn).append(") VALUES ");
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(:u").append(i).append(", :a").append(i).append(')');
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < rows.size(); i++) {
+            spec = spec.bind("u" + i, rows.get(i)[0]).bind("a" + i, rows.get(i)[1]);
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    public enum JoinTable {
+        USER_ROLES("user_roles", "role_id"),
+        USER_PERMISSIONS("user_permissions", "permission_id");
+
+        private final String table;
+        private final String authorityColumn;
+
+        JoinTable(String table, String authorityColumn) {
+            this.table = table;
+            this.authorityColumn = authorityColumn;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.authx.auth.authentication.repositories;
+
+import org.authx.auth.authentication.dtos.UserSummary;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class UserListingRepository {
+    private static final String PAGE_SQL = "SELECT u.id, u.username, u.email, u.enabled, r.name "
+            + "FROM (SELECT id, username, email, enabled FROM users WHERE id > :afterId ORDER BY id LIMIT :limit) u "
+            + "LEFT JOIN user_roles ur ON ur.user_id = u.id "
+            + "LEFT JOIN roles r ON r.id = ur.role_id "
+            + "ORDER BY u.id";
+
+    private static final String EXPORT_SQL = "SELECT u.id, u.username, u.email, u.enabled, r.name "
+            + "FROM users u "
+            + "LEFT JOIN user_roles ur ON ur.user_id = u.id "
+            + "LEFT JOIN roles r ON r.id = ur.role_id "
+            + "ORDER BY u.id";
+
+    private final DatabaseClient databaseClient;
+
+    public UserListingRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Keyset page: users with id greater than {@code afterId}, at most {@code limit} of them.
+     */
+    public Flux<UserSummary> findPage(long afterId, int limit) {
+        return fold(databaseClient.sql(PAGE_SQL)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(UserListingRepository::toRow)
+                .all());
+    }
+
+    /**
+     * Every user, read {@code fetchSize} rows at a time; rows are only requested as fast as the
+     * subscriber (ultimately the HTTP client) consumes them.
+     */
+    public Flux<UserSummary> streamAll(int fetchSize) {
+        return fold(databaseClient.sql(EXPORT_SQL)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(UserListingRepository::toRow)
+                .all());
+    }
+
+    // Consecutive (user, role) rows become one summary per user
+    private static Flux<UserSummary> fold(Flux<Row> rows) {
+        return rows.bufferUntilChanged(Row::id).map(group -> {
+            Row first = group.get(0);
+            List<String> roles = new ArrayList<>(group.size());
+            for (Row row : group) {
+                if (row.role() != null) {
+                    roles.add(row.role());
+                }
+            }
+            return new UserSummary(first.id(), first.username(), first.email(), first.enabled(), roles);
+        });
+    }
+
+    private static Row toRow(io.r2dbc.spi.Row row) {
+        Boolean enabled = row.get(3, Boolean.class);
+        return new Row(row.get(0, Long.class), row.get(1, String.class), row.get(2, String.class),
+                enabled != null && enabled, row.get(4, String.class));
+    }
+
+    private record Row(long id, String username, String email, boolean enabled, String role) {
+    }
+}
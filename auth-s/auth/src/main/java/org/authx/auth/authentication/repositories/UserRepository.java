@@ -0,0 +1,13 @@
+package org.authx.auth.authentication.repositories;
+
+import org.authx.auth.authentication.models.User;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface UserRepository extends ReactiveCrudRepository<User, Long> {
+    Mono<User> findByEmail(String email);
+
+    Mono<Boolean> existsByEmail(String email);
+}
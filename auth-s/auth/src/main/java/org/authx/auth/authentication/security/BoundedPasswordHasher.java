@@ -0,0 +1,49 @@
+package org.authx.auth.authentication.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs BCrypt {@code encode}/{@code matches} on a bounded scheduler so hashing never occupies an
+ * event-loop thread. The scheduler has one thread per core and at most {@code queueCapacity} waiting
+ * tasks per thread; beyond that callers fail fast with {@link PasswordHashingRejectedException}.
+ */
+public class BoundedPasswordHasher implements AutoCloseable {
+    private static final int IDLE_SECONDS = 60;
+
+    private final PasswordEncoder delegate;
+    private final Scheduler scheduler;
+
+    public BoundedPasswordHasher(PasswordEncoder delegate, int threads, int queueCapacity) {
+        this.delegate = delegate;
+        this.scheduler = Schedulers.newBoundedElastic(threads, queueCapacity, "password-hash", IDLE_SECONDS, true);
+    }
+
+    public Mono<String> encode(CharSequence rawPassword) {
+        return submit(Mono.fromCallable(() -> delegate.encode(rawPassword)));
+    }
+
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(Mono.fromCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    // Only inspects the stored hash's prefix and cost; cheap enough for the event loop
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        scheduler.dispose();
+    }
+
+    private <T> Mono<T> submit(Mono<T> task) {
+        return task.subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class,
+                        e -> new PasswordHashingRejectedException("Server is busy, please retry shortly"));
+    }
+}
@@ -0,0 +1,10 @@
+package org.authx.auth.authentication.security;
+
+/**
+ * Thrown when the password hashing scheduler is saturated and cannot accept more work.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,99 @@
+package org.authx.auth.authentication.services;
+
+import org.authx.auth.authentication.dtos.RegisterRequest;
+import org.authx.auth.authentication.models.Otp;
+import org.authx.auth.authentication.models.User;
+import org.authx.auth.authentication.repositories.UserRepository;
+import org.authx.auth.authentication.security.BoundedPasswordHasher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same flows as the servlet module's service. Password hashing runs on the {@link BoundedPasswordHasher}
+ * scheduler and no transaction is held open across it.
+ */
+@Service
+public class AuthenticationService {
+    private final UserRepository userRepository;
+    private final BoundedPasswordHasher passwordHasher;
+    private final OtpService otpService;
+
+    public AuthenticationService(UserRepository userRepository,
+                                 BoundedPasswordHasher passwordHasher,
+                                 OtpService otpService) {
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.otpService = otpService;
+    }
+
+    public Mono<User> register(RegisterRequest request) {
+        return userRepository.existsByEmail(request.getEmail())
+                .flatMap(exists -> exists
+                        ? Mono.error(new IllegalArgumentException("Email already exists"))
+                        : passwordHasher.encode(request.getPassword()))
+                .flatMap(hash -> {
+                    User user = new User();
+                    user.setUsername(request.getUsername());
+                    user.setEmail(request.getEmail());
+                    user.setPassword(hash);
+                    user.setEnabled(true);
+                    return userRepository.save(user);
+                })
+                // Lost a race with a concurrent registration for the same email or username
+                .onErrorMap(DataIntegrityViolationException.class, e -> new IllegalArgumentException("User already exists"));
+    }
+
+    public Mono<Void> requestLoginOtp(String email, String password) {
+        return userRepository.findByEmail(email)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Invalid email or password")))
+                .flatMap(user -> passwordHasher.matches(password, user.getPassword())
+                        .flatMap(matches -> matches
+                                ? rehashIfNeeded(user, password)
+                                : Mono.error(new IllegalArgumentException("Invalid email or password"))))
+                .then(Mono.defer(() -> otpService.createAndSaveOtp(email, Otp.OtpType.LOGIN)))
+                .then();
+    }
+
+    public Mono<Boolean> verifyLoginOtp(String email, String otp) {
+        return otpService.validateOtp(email, otp, Otp.OtpType.LOGIN);
+    }
+
+    public Mono<Void> requestPasswordResetOtp(String email) {
+        return userRepository.existsByEmail(email)
+                .flatMap(exists -> exists
+                        ? otpService.createAndSaveOtp(email, Otp.OtpType.PASSWORD_RESET)
+                        : Mono.error(new IllegalArgumentException("User not found with email: " + email)))
+                .then();
+    }
+
+    public Mono<Void> resetPassword(String email, String otp, String newPassword) {
+        return otpService.validateOtp(email, otp, Otp.OtpType.PASSWORD_RESET)
+                .flatMap(valid -> valid
+                        ? getUserByEmail(email)
+                        : Mono.error(new IllegalArgumentException("Invalid or expired OTP")))
+                .flatMap(user -> passwordHasher.encode(newPassword).flatMap(hash -> {
+                    user.setPassword(hash);
+                    // Sessions started with the old password can no longer be extended
+                    user.setTokenVersion(user.getTokenVersion() + 1);
+                    return userRepository.save(user);
+                }))
+                .then();
+    }
+
+    public Mono<User> getUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("User not found")));
+    }
+
+    // Re-hash with the current algorithm/cost while the raw password is at hand
+    private Mono<User> rehashIfNeeded(User user, String password) {
+        if (!passwordHasher.upgradeEncoding(user.getPassword())) {
+            return Mono.just(user);
+        }
+        return passwordHasher.encode(password).flatMap(hash -> {
+            user.setPassword(hash);
+            return userRepository.save(user);
+        });
+    }
+}
@@ -0,0 +1,118 @@
+package org.authx.auth.authentication.services;
+
+import org.authx.auth.authentication.models.Permission;
+import org.authx.auth.authentication.models.Role;
+import org.authx.auth.authentication.repositories.AuthorityCatalogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable in-memory snapshot of the role/permission catalog, so name resolution never queries
+ * the database. The snapshot is loaded with three queries, shared by every subscriber, and reloaded
+ * by the first caller after {@code auth.catalog.refresh-interval}; a failed load is not cached.
+ */
+@Service
+public class AuthorityCatalog {
+    private final AuthorityCatalogRepository catalogRepository;
+    private final Duration refreshInterval;
+    private final AtomicReference<Mono<Snapshot>> current = new AtomicReference<>();
+
+    public AuthorityCatalog(AuthorityCatalogRepository catalogRepository,
+                            @Value("${auth.catalog.refresh-interval:60s}") Duration refreshInterval) {
+        this.catalogRepository = catalogRepository;
+        this.refreshInterval = refreshInterval;
+        refresh();
+    }
+
+    public Mono<Snapshot> snapshot() {
+        return current.get();
+    }
+
+    // Drops the cached snapshot; the next subscriber loads a fresh one
+    public void refresh() {
+        current.set(load().cache(snapshot -> refreshInterval, error -> Duration.ZERO, () -> Duration.ZERO));
+    }
+
+    private Mono<Snapshot> load() {
+        return Mono.zip(
+                catalogRepository.findPermissions().collectList(),
+                catalogRepository.findRoles().collectList(),
+                catalogRepository.findRolePermissions().collectList()
+        ).map(rows -> {
+            Map<Long, PermissionEntry> permissionsById = new HashMap<>();
+            Map<String, PermissionEntry> permissions = new HashMap<>();
+            rows.getT1().forEach(row -> {
+                PermissionEntry entry = new PermissionEntry(row.id(), row.name(), row.description());
+                permissionsById.put(row.id(), entry);
+                permissions.put(row.name(), entry);
+            });
+
+            Map<Long, List<PermissionEntry>> granted = new HashMap<>();
+            rows.getT3().forEach(pair -> {
+                PermissionEntry permission = permissionsById.get(pair[1]);
+                if (permission != null) {
+                    granted.computeIfAbsent(pair[0], id -> new ArrayList<>()).add(permission);
+                }
+            });
+
+            Map<String, RoleEntry> roles = new HashMap<>();
+            rows.getT2().forEach(row -> {
+                List<PermissionEntry> rolePermissions = new ArrayList<>(granted.getOrDefault(row.id(), List.of()));
+                rolePermissions.sort(Comparator.comparing(PermissionEntry::name));
+                roles.put(row.name(), new RoleEntry(row.id(), row.name(), List.copyOf(rolePermissions)));
+            });
+            return new Snapshot(Map.copyOf(roles), Map.copyOf(permissions));
+        });
+    }
+
+    public record Snapshot(Map<String, RoleEntry> roles, Map<String, PermissionEntry> permissions) {
+        public RoleEntry role(String name) {
+            RoleEntry entry = roles.get(name);
+            if (entry == null) {
+                throw new IllegalArgumentException("Role not found: " + name);
+            }
+            return entry;
+        }
+
+        public PermissionEntry permission(String name) {
+            PermissionEntry entry = permissions.get(name);
+            if (entry == null) {
+                throw new IllegalArgumentException("Permission not found: " + name);
+            }
+            return entry;
+        }
+    }
+
+    public record PermissionEntry(long id, String name, String description) {
+        Permission toPermission() {
+            Permission permission = new Permission();
+            permission.setId(id);
+            permission.setName(name);
+            permission.setDescription(description);
+            return permission;
+        }
+    }
+
+    public record RoleEntry(long id, String name, List<PermissionEntry> permissions) {
+        Role toRole() {
+            Role role = new Role();
+            role.setId(id);
+            role.setName(name);
+            Set<Permission> copies = new HashSet<>();
+            permissions.forEach(permission -> copies.add(permission.toPermission()));
+            role.setPermissions(copies);
+            return role;
+        }
+    }
+}
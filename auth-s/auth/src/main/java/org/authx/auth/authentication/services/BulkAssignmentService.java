@@ -0,0 +1,122 @@
+package org.authx.auth.authentication.services;
+
+import org.authx.auth.authentication.dtos.BulkUpdateResponse;
+import org.authx.auth.authentication.dtos.BulkUpdateUserPermissionsRequest;
+import org.authx.auth.authentication.dtos.BulkUpdateUserRolesRequest;
+import org.authx.auth.authentication.repositories.UserAuthorityRepository;
+import org.authx.auth.authentication.repositories.UserAuthorityRepository.JoinTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Replaces role or permission assignments for many users at once. Input is validated up front
+ * (names against the {@link AuthorityCatalog}, user ids with one IN query per chunk), then applied
+ * in transactions of at most {@code auth.admin.bulk.users-per-transaction} users, one after another.
+ * A failure mid-way leaves earlier chunks committed.
+ */
+@Service
+public class BulkAssignmentService {
+    private final AuthorityCatalog authorityCatalog;
+    private final UserAuthorityRepository userAuthorityRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final int usersPerTransaction;
+    private final int rowsPerInsert;
+
+    public BulkAssignmentService(AuthorityCatalog authorityCatalog,
+                                 UserAuthorityRepository userAuthorityRepository,
+                                 TransactionalOperator transactionalOperator,
+                                 @Value("${auth.admin.bulk.users-per-transaction:500}") int usersPerTransaction,
+                                 @Value("${auth.admin.bulk.rows-per-insert:500}") int rowsPerInsert) {
+        this.authorityCatalog = authorityCatalog;
+        this.userAuthorityRepository = userAuthorityRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.usersPerTransaction = usersPerTransaction;
+        this.rowsPerInsert = rowsPerInsert;
+    }
+
+    public Mono<BulkUpdateResponse> updateRoles(BulkUpdateUserRolesRequest request) {
+        // Sorted by user id; a user listed twice keeps its last assignment
+        SortedMap<Long, Set<String>> namesByUser = new TreeMap<>();
+        for (BulkUpdateUserRolesRequest.Assignment assignment : request.getAssignments()) {
+            namesByUser.put(assignment.getUserId(), assignment.getRoles());
+        }
+
+        return authorityCatalog.snapshot().flatMap(snapshot -> {
+            Map<String, Long> ids = new HashMap<>();
+            snapshot.roles().forEach((name, role) -> ids.put(name, role.id()));
+            return apply(JoinTable.USER_ROLES, namesByUser, ids, "Role");
+        });
+    }
+
+    public Mono<BulkUpdateResponse> updatePermissions(BulkUpdateUserPermissionsRequest request) {
+        SortedMap<Long, Set<String>> namesByUser = new TreeMap<>();
+        for (BulkUpdateUserPermissionsRequest.Assignment assignment : request.getAssignments()) {
+            namesByUser.put(assignment.getUserId(),
+                    assignment.getPermissions() == null ? Set.of() : assignment.getPermissions());
+        }
+
+        return authorityCatalog.snapshot().flatMap(snapshot -> {
+            Map<String, Long> ids = new HashMap<>();
+            snapshot.permissions().forEach((name, permission) -> ids.put(name, permission.id()));
+            return apply(JoinTable.USER_PERMISSIONS, namesByUser, ids, "Permission");
+        });
+    }
+
+    private Mono<BulkUpdateResponse> apply(JoinTable table, SortedMap<Long, Set<String>> namesByUser,
+                                           Map<String, Long> ids, String kind) {
+        for (Set<String> names : namesByUser.values()) {
+            for (String name : names) {
+                if (!ids.containsKey(name)) {
+                    return Mono.error(new IllegalArgumentException(kind + " not found: " + name));
+                }
+            }
+        }
+
+        List<Long> userIds = new ArrayList<>(namesByUser.keySet());
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += usersPerTransaction) {
+            chunks.add(userIds.subList(from, Math.min(from + usersPerTransaction, userIds.size())));
+        }
+
+        return Flux.fromIterable(chunks)
+                .concatMap(chunk -> userAuthorityRepository.findEmailsByIds(chunk).map(Map::keySet))
+                .collect(HashSet<Long>::new, Set::addAll)
+                .flatMap(existing -> {
+                    for (Long userId : userIds) {
+                        if (!existing.contains(userId)) {
+                            return Mono.error(new IllegalArgumentException("User not found: " + userId));
+                        }
+                    }
+                    return Flux.fromIterable(chunks)
+                            .concatMap(chunk -> applyChunk(table, chunk, namesByUser, ids))
+                            .reduce(0, Integer::sum)
+                            .map(rows -> new BulkUpdateResponse(userIds.size(), rows, chunks.size()));
+                });
+    }
+
+    private Mono<Integer> applyChunk(JoinTable table, List<Long> chunk, SortedMap<Long, Set<String>> namesByUser,
+                                     Map<String, Long> ids) {
+        List<long[]> rows = new ArrayList<>();
+        for (Long userId : chunk) {
+            for (long authorityId : namesByUser.get(userId).stream().mapToLong(ids::get).distinct().sorted().toArray()) {
+                rows.add(new long[]{userId, authorityId});
+            }
+        }
+        return userAuthorityRepository.deleteForUsers(table, chunk)
+                .then(userAuthorityRepository.insert(table, rows, rowsPerInsert))
+                .as(transactionalOperator::transactional)
+                .thenReturn(rows.size());
+    }
+}
@@ -0,0 +1,45 @@
+package org.authx.auth.authentication.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Hands committed OTPs to the {@link OtpSender} on the bounded elastic scheduler, so a slow mail/SMS
+ * gateway never holds an event-loop thread or the request that issued the code. Failed sends are
+ * retried with exponential backoff.
+ */
+@Component
+public class OtpDelivery {
+    private static final Logger log = LoggerFactory.getLogger(OtpDelivery.class);
+
+    private final OtpSender sender;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+
+    public OtpDelivery(OtpSender sender,
+                       @Value("${auth.otp.delivery.max-attempts:5}") int maxAttempts,
+                       @Value("${auth.otp.delivery.initial-backoff:200ms}") Duration initialBackoff) {
+        this.sender = sender;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+    }
+
+    public void enqueue(OtpMessage message) {
+        Mono.fromCallable(() -> {
+                    sender.send(List.of(message));
+                    return message;
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .retryWhen(Retry.backoff(maxAttempts - 1, initialBackoff))
+                .subscribe(null, e -> log.error("Giving up on OTP delivery for {} ({}) after {} attempts",
+                        message.email(), message.type(), maxAttempts, e));
+    }
+}
@@ -0,0 +1,9 @@
+package org.authx.auth.authentication.services;
+
+import org.authx.auth.authentication.models.Otp;
+
+/**
+ * An issued OTP waiting for delivery. Handed to {@link OtpDelivery} once the OTP row is committed.
+ */
+public record OtpMessage(String email, Otp.OtpType type, String code) {
+}
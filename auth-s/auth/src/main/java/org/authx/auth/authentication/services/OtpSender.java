@@ -0,0 +1,11 @@
+package org.authx.auth.authentication.services;
+
+import java.util.List;
+
+/**
+ * Delivers OTP messages to users (email, SMS, ...). Called off the event loop by {@link OtpDelivery};
+ * implementations may block. Throwing makes the delivery retry.
+ */
+public interface OtpSender {
+    void send(List<OtpMessage> messages) throws Exception;
+}
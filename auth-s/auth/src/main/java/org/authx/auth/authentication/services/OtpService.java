@@ -0,0 +1,77 @@
+package org.authx.auth.authentication.services;
+
+import org.authx.auth.authentication.models.Otp;
+import org.authx.auth.authentication.repositories.OtpRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+
+@Service
+public class OtpService {
+    private static final int OTP_LENGTH = 6;
+    private static final int OTP_BOUND = 1_000_000;
+    private static final int OTP_EXPIRY_MINUTES = 10;
+    // Codes are issued from a handful of long-lived threads (event loop, R2DBC, hashing), so one DRBG each stays small
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(OtpService::newDrbg);
+
+    private final OtpRepository otpRepository;
+    private final OtpDelivery otpDelivery;
+    private final TransactionalOperator transactionalOperator;
+
+    public OtpService(OtpRepository otpRepository, OtpDelivery otpDelivery, TransactionalOperator transactionalOperator) {
+        this.otpRepository = otpRepository;
+        this.otpDelivery = otpDelivery;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    public String generateOtp() {
+        int value = RANDOM.get().nextInt(OTP_BOUND);
+        char[] digits = new char[OTP_LENGTH];
+        for (int i = OTP_LENGTH - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(digits);
+    }
+
+    public Mono<String> createAndSaveOtp(String email, Otp.OtpType type) {
+        String code = generateOtp();
+        Otp otp = new Otp();
+        otp.setEmail(email);
+        otp.setCode(code);
+        otp.setType(type);
+        otp.setExpiresAt(LocalDateTime.now().plusMinutes(OTP_EXPIRY_MINUTES));
+        otp.setUsed(false);
+
+        // Invalidate any existing unused OTPs for this email and type
+        return otpRepository.invalidateOtps(email, type.name())
+                .then(otpRepository.save(otp))
+                .as(transactionalOperator::transactional)
+                // Delivery starts once the OTP is committed
+                .doOnSuccess(saved -> otpDelivery.enqueue(new OtpMessage(email, type, code)))
+                .thenReturn(code);
+    }
+
+    public Mono<Boolean> validateOtp(String email, String code, Otp.OtpType type) {
+        return otpRepository.findLatestUsable(email, type.name(), LocalDateTime.now())
+                .filter(otp -> otp.getCode().equals(code))
+                // Conditional update so two concurrent verifications cannot both consume the same row
+                .flatMap(otp -> otpRepository.markUsed(otp.getId()))
+                .map(updated -> updated == 1)
+                .defaultIfEmpty(false);
+    }
+
+    private static SecureRandom newDrbg() {
+        try {
+            return SecureRandom.getInstance("DRBG",
+                    DrbgParameters.instantiation(256, DrbgParameters.Capability.RESEED_ONLY, null));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("DRBG SecureRandom is not available", e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.authx.auth.authentication.services;
+
+import org.authx.auth.authentication.configs.TokenConfig;
+import org.authx.auth.authentication.dtos.TokenResponse;
+import org.authx.auth.authentication.models.User;
+import org.authx.auth.authentication.repositories.UserAuthorityRepository;
+import org.authx.auth.authentication.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Service
+public class TokenService {
+    private static final String BEARER = "Bearer";
+
+    private final JwtEncoder jwtEncoder;
+    private final ReactiveJwtDecoder refreshTokenDecoder;
+    private final UserRepository userRepository;
+    private final UserAuthorityRepository userAuthorityRepository;
+    private final Duration accessTtl;
+    private final Duration refreshTtl;
+
+    public TokenService(JwtEncoder jwtEncoder,
+                        SecretKey tokenSigningKey,
+                        UserRepository userRepository,
+                        UserAuthorityRepository userAuthorityRepository,
+                        @Value("${auth.token.access-ttl}") Duration accessTtl,
+                        @Value("${auth.token.refresh-ttl}") Duration refreshTtl) {
+        this.jwtEncoder = jwtEncoder;
+        this.refreshTokenDecoder = TokenConfig.decoderFor(tokenSigningKey, TokenConfig.TOKEN_TYPE_REFRESH);
+        this.userRepository = userRepository;
+        this.userAuthorityRepository = userAuthorityRepository;
+        this.accessTtl = accessTtl;
+        this.refreshTtl = refreshTtl;
+    }
+
+    public Mono<TokenResponse> issueTokens(User user) {
+        return userAuthorityRepository.findAuthorityNames(user.getId())
+                .sort()
+                .collectList()
+                .map(authorities -> issueTokens(user, authorities));
+    }
+
+    public Mono<TokenResponse> refresh(String refreshToken) {
+        return refreshTokenDecoder.decode(refreshToken)
+                .onErrorMap(JwtException.class, e -> new IllegalArgumentException("Invalid or expired refresh token"))
+                .flatMap(jwt -> userRepository.findByEmail(jwt.getSubject())
+                        .filter(user -> user.getTokenVersion() == tokenVersion(jwt)))
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Invalid or expired refresh token")))
+                .flatMap(user -> user.isEnabled()
+                        ? issueTokens(user)
+                        : Mono.error(new IllegalArgumentException("User is disabled")));
+    }
+
+    private TokenResponse issueTokens(User user, List<String> authorities) {
+        Instant now = Instant.now();
+        JwtClaimsSet accessClaims = JwtClaimsSet.builder()
+                .subject(user.getEmail())
+                .issuedAt(now)
+                .expiresAt(now.plus(accessTtl))
+                .claim(TokenConfig.CLAIM_USER_ID, user.getId())
+                .claim(TokenConfig.CLAIM_AUTHORITIES, authorities)
+                .claim(TokenConfig.CLAIM_TOKEN_TYPE, TokenConfig.TOKEN_TYPE_ACCESS)
+                .build();
+
+        // Refresh tokens carry no authorities: they are re-resolved on refresh so role changes apply.
+        // The token version is bumped on password reset, which retires every refresh token issued before it
+        JwtClaimsSet refreshClaims = JwtClaimsSet.builder()
+                .subject(user.getEmail())
+                .issuedAt(now)
+                .expiresAt(now.plus(refreshTtl))
+                .claim(TokenConfig.CLAIM_USER_ID, user.getId())
+                .claim(TokenConfig.CLAIM_TOKEN_TYPE, TokenConfig.TOKEN_TYPE_REFRESH)
+                .claim(TokenConfig.CLAIM_TOKEN_VERSION, user.getTokenVersion())
+                .build();
+
+        return new TokenResponse(encode(accessClaims), encode(refreshClaims), BEARER, accessTtl.toSeconds());
+    }
+
+    private static int tokenVersion(Jwt jwt) {
+        Number version = jwt.getClaim(TokenConfig.CLAIM_TOKEN_VERSION);
+        return version == null ? 0 : version.intValue();
+    }
+
+    // HMAC signing is a few microseconds of CPU, fine on the event loop
+    private String encode(JwtClaimsSet claims) {
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+}
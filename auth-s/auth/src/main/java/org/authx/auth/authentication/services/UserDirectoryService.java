@@ -0,0 +1,68 @@
+package org.authx.auth.authentication.services;
+
+import org.authx.auth.authentication.dtos.UserPage;
+import org.authx.auth.authentication.dtos.UserSummary;
+import org.authx.auth.authentication.repositories.UserListingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+@Service
+public class UserDirectoryService {
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final UserListingRepository userListingRepository;
+    private final JsonMapper jsonMapper;
+    private final int exportFetchSize;
+
+    public UserDirectoryService(UserListingRepository userListingRepository,
+                                JsonMapper jsonMapper,
+                                @Value("${auth.admin.export.fetch-size:1000}") int exportFetchSize) {
+        this.userListingRepository = userListingRepository;
+        this.jsonMapper = jsonMapper;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    public Mono<UserPage> listUsers(long afterId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        return userListingRepository.findPage(Math.max(afterId, 0), limit)
+                .collectList()
+                .map(users -> new UserPage(users,
+                        users.size() == limit ? users.get(users.size() - 1).getId() : null));
+    }
+
+    // One line per user; cancelled with the response if the client goes away
+    public Flux<String> exportNdjson() {
+        return userListingRepository.streamAll(exportFetchSize)
+                .map(user -> jsonMapper.writeValueAsString(user) + "\n");
+    }
+
+    public Flux<String> exportCsv() {
+        return Flux.concat(
+                Flux.just("id,username,email,enabled,roles\r\n"),
+                userListingRepository.streamAll(exportFetchSize).map(UserDirectoryService::csvLine));
+    }
+
+    private static String csvLine(UserSummary user) {
+        return user.getId() + "," + csv(user.getUsername()) + "," + csv(user.getEmail()) + ","
+                + user.isEnabled() + "," + csv(String.join(";", user.getRoles())) + "\r\n";
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        // Keep spreadsheet apps from evaluating user-controlled fields as formulas
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
@@ -0,0 +1,131 @@
+package org.authx.auth.authentication.services;
+
+import org.authx.auth.authentication.dtos.CreateAdminRequest;
+import org.authx.auth.authentication.dtos.UpdateUserPermissionsRequest;
+import org.authx.auth.authentication.dtos.UpdateUserRolesRequest;
+import org.authx.auth.authentication.models.Permission;
+import org.authx.auth.authentication.models.Role;
+import org.authx.auth.authentication.models.User;
+import org.authx.auth.authentication.repositories.UserAuthorityRepository;
+import org.authx.auth.authentication.repositories.UserAuthorityRepository.JoinTable;
+import org.authx.auth.authentication.repositories.UserRepository;
+import org.authx.auth.authentication.security.BoundedPasswordHasher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class UserManagementService {
+    private final UserRepository userRepository;
+    private final UserAuthorityRepository userAuthorityRepository;
+    private final AuthorityCatalog authorityCatalog;
+    private final BoundedPasswordHasher passwordHasher;
+    private final TransactionalOperator transactionalOperator;
+    private final int rowsPerInsert;
+
+    public UserManagementService(UserRepository userRepository,
+                                 UserAuthorityRepository userAuthorityRepository,
+                                 AuthorityCatalog authorityCatalog,
+                                 BoundedPasswordHasher passwordHasher,
+                                 TransactionalOperator transactionalOperator,
+                                 @Value("${auth.admin.bulk.rows-per-insert:500}") int rowsPerInsert) {
+        this.userRepository = userRepository;
+        this.userAuthorityRepository = userAuthorityRepository;
+        this.authorityCatalog = authorityCatalog;
+        this.passwordHasher = passwordHasher;
+        this.transactionalOperator = transactionalOperator;
+        this.rowsPerInsert = rowsPerInsert;
+    }
+
+    public Mono<User> createAdmin(CreateAdminRequest request) {
+        return userRepository.existsByEmail(request.getEmail())
+                .flatMap(exists -> exists
+                        ? Mono.<AuthorityCatalog.Snapshot>error(new IllegalArgumentException("Email already exists"))
+                        : authorityCatalog.snapshot())
+                .flatMap(snapshot -> {
+                    // Assign ROLE_ADMIN by default
+                    AuthorityCatalog.RoleEntry adminRole = snapshot.role("ROLE_ADMIN");
+                    return passwordHasher.encode(request.getPassword()).flatMap(hash -> {
+                        User admin = new User();
+                        admin.setUsername(request.getUsername());
+                        admin.setEmail(request.getEmail());
+                        admin.setPassword(hash);
+                        admin.setEnabled(true);
+                        return userRepository.save(admin)
+                                .flatMap(saved -> userAuthorityRepository.insert(JoinTable.USER_ROLES,
+                                        List.of(new long[]{saved.getId(), adminRole.id()}), rowsPerInsert).thenReturn(saved))
+                                .as(transactionalOperator::transactional)
+                                .doOnNext(saved -> saved.setRoles(new HashSet<>(Set.of(adminRole.toRole()))));
+                    });
+                })
+                .onErrorMap(DataIntegrityViolationException.class, e -> new IllegalArgumentException("User already exists"));
+    }
+
+    public Mono<User> updateUserRoles(Long userId, UpdateUserRolesRequest request) {
+        return findUser(userId)
+                .zipWith(authorityCatalog.snapshot())
+                .flatMap(found -> {
+                    User user = found.getT1();
+                    AuthorityCatalog.Snapshot snapshot = found.getT2();
+                    Set<Role> roles = request.getRoles().stream()
+                            .map(name -> snapshot.role(name).toRole())
+                            .collect(Collectors.toSet());
+
+                    return replace(JoinTable.USER_ROLES, userId, roles.stream().map(Role::getId).toList())
+                            .then(userAuthorityRepository.findPermissionNames(userId)
+                                    .map(name -> snapshot.permission(name).toPermission())
+                                    .collect(Collectors.toSet()))
+                            .map(permissions -> {
+                                user.setRoles(roles);
+                                user.setPermissions(permissions);
+                                return user;
+                            });
+                });
+    }
+
+    public Mono<User> updateUserPermissions(Long userId, UpdateUserPermissionsRequest request) {
+        return findUser(userId)
+                .zipWith(authorityCatalog.snapshot())
+                .flatMap(found -> {
+                    User user = found.getT1();
+                    AuthorityCatalog.Snapshot snapshot = found.getT2();
+                    Set<Permission> permissions = request.getPermissions() == null
+                            ? new HashSet<>()
+                            : request.getPermissions().stream()
+                                    .map(name -> snapshot.permission(name).toPermission())
+                                    .collect(Collectors.toSet());
+
+                    return replace(JoinTable.USER_PERMISSIONS, userId, permissions.stream().map(Permission::getId).toList())
+                            .then(userAuthorityRepository.findRoleNames(userId)
+                                    .map(name -> snapshot.role(name).toRole())
+                                    .collect(Collectors.toSet()))
+                            .map(roles -> {
+                                user.setRoles(roles);
+                                user.setPermissions(permissions);
+                                return user;
+                            });
+                });
+    }
+
+    private Mono<User> findUser(Long userId) {
+        return userRepository.findById(userId)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("User not found")));
+    }
+
+    // Rewrites one user's join-table rows in a single transaction
+    private Mono<Long> replace(JoinTable table, long userId, List<Long> authorityIds) {
+        List<long[]> rows = authorityIds.stream().mapToLong(Long::longValue).distinct().sorted()
+                .mapToObj(authorityId -> new long[]{userId, authorityId})
+                .toList();
+        return userAuthorityRepository.deleteForUsers(table, List.of(userId))
+                .then(userAuthorityRepository.insert(table, rows, rowsPerInsert))
+                .as(transactionalOperator::transactional);
+    }
+}
@@ -0,0 +1,83 @@
+-- Same tables as the JPA entities of the servlet auth module, so both editions can share one database.
+-- Only missing tables are created; an existing schema (e.g. from ddl-auto=update) is left alone.
+
+CREATE TABLE IF NOT EXISTS permissions (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_permissions_name (name)
+);
+
+CREATE TABLE IF NOT EXISTS roles (
+    id   BIGINT       NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_roles_name (name)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    email    VARCHAR(255) NOT NULL,
+    enabled  BIT          NOT NULL,
+    token_version INT     NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_users_username (username),
+    UNIQUE KEY uk_users_email (email)
+);
+
+CREATE TABLE IF NOT EXISTS role_permissions (
+    role_id       BIGINT NOT NULL,
+    permission_id BIGINT NOT NULL,
+    PRIMARY KEY (role_id, permission_id),
+    CONSTRAINT fk_role_permissions_permission FOREIGN KEY (permission_id) REFERENCES permissions (id),
+    CONSTRAINT fk_role_permissions_role FOREIGN KEY (role_id) REFERENCES roles (id)
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, role_id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES roles (id),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS user_permissions (
+    user_id       BIGINT NOT NULL,
+    permission_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, permission_id),
+    CONSTRAINT fk_user_permissions_permission FOREIGN KEY (permission_id) REFERENCES permissions (id),
+    CONSTRAINT fk_user_permissions_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS otps (
+    id         BIGINT                          NOT NULL AUTO_INCREMENT,
+    email      VARCHAR(255)                    NOT NULL,
+    code       VARCHAR(6)                      NOT NULL,
+    type       ENUM ('LOGIN','PASSWORD_RESET') NOT NULL,
+    expires_at DATETIME(6)                     NOT NULL,
+    used       BIT                             NOT NULL,
+    created_at DATETIME(6)                     NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_otp_latest (email, type, used, created_at),
+    KEY idx_otp_expires_at (expires_at)
+);
+
+CREATE TABLE IF NOT EXISTS otp_slots (
+    email      VARCHAR(255)                    NOT NULL,
+    type       ENUM ('LOGIN','PASSWORD_RESET') NOT NULL,
+    code       VARCHAR(6)                      NOT NULL,
+    expires_at DATETIME(6)                     NOT NULL,
+    created_at DATETIME(6)                     NOT NULL,
+    PRIMARY KEY (email, type),
+    KEY idx_otp_slot_expires_at (expires_at)
+);
+
+CREATE TABLE IF NOT EXISTS catalog_state (
+    name       VARCHAR(64) NOT NULL,
+    checksum   VARCHAR(64) NOT NULL,
+    applied_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (name)
+);
@@ -0,0 +1,210 @@
+package org.authx.auth;
+
+import org.authx.auth.authentication.services.OtpMessage;
+import org.authx.auth.authentication.services.OtpSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the auth and admin endpoints end to end over HTTP against an in-memory H2 database in MySQL
+ * mode, with OTP codes captured from the delivery path.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "auth.token.secret=dGVzdC1vbmx5LXNpZ25pbmcta2V5LW5vdC1mb3ItcHJvZA==",
+        "auth.otp.delivery.sender=capture",
+        "auth.password.bcrypt.strength=4"
+})
+@Import(ReactiveAuthFlowTest.CapturingOtpSender.class)
+class ReactiveAuthFlowTest {
+    private static final String AUTH = "/api/v1/auth";
+    private static final String ADMIN = "/api/v1/admin";
+    private static final String PASSWORD = "Password@123";
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private CapturingOtpSender otpSender;
+
+    private final JsonMapper json = JsonMapper.builder().build();
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .responseTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    @Test
+    void registerLoginAndRefresh() {
+        String email = "flow@school.com";
+        register(email);
+
+        post(AUTH + "/register", Map.of("username", "flow2", "email", email, "password", PASSWORD))
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Email already exists");
+        post(AUTH + "/login/request-otp", Map.of("email", email, "password", "wrong-password"))
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Invalid email or password");
+        post(AUTH + "/login", Map.of("email", email, "otp", "000000"))
+                .expectStatus().isUnauthorized();
+
+        JsonNode tokens = login(email, PASSWORD);
+        assertThat(tokens.get("tokenType").asString()).isEqualTo("Bearer");
+
+        JsonNode refreshed = body(post(AUTH + "/token/refresh", Map.of("refreshToken", tokens.get("refreshToken").asString()))
+                .expectStatus().isOk());
+        assertThat(refreshed.at("/data/accessToken").asString()).isNotBlank();
+
+        post(AUTH + "/token/refresh", Map.of("refreshToken", tokens.get("accessToken").asString()))
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void passwordResetRevokesEarlierRefreshTokens() {
+        String email = "reset@school.com";
+        register(email);
+        String refreshToken = login(email, PASSWORD).get("refreshToken").asString();
+
+        post(AUTH + "/password-reset/request", Map.of("email", email)).expectStatus().isOk();
+        post(AUTH + "/password-reset/confirm",
+                Map.of("email", email, "otp", otpSender.next(email), "newPassword", "NewPassword@123"))
+                .expectStatus().isOk();
+
+        post(AUTH + "/token/refresh", Map.of("refreshToken", refreshToken))
+                .expectStatus().isUnauthorized();
+        assertThat(login(email, "NewPassword@123").get("accessToken").asString()).isNotBlank();
+    }
+
+    @Test
+    void validationErrorsAreReportedAsBadRequest() {
+        post(AUTH + "/register", Map.of("username", "x", "email", "not-an-email", "password", PASSWORD))
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").value(message -> assertThat((String) message).startsWith("Validation failed"));
+    }
+
+    @Test
+    void adminEndpointsRequireTheirPermissions() {
+        String email = "plain@school.com";
+        long userId = register(email);
+        String userToken = login(email, PASSWORD).get("accessToken").asString();
+
+        client.get().uri(ADMIN + "/users").exchange().expectStatus().isUnauthorized();
+        client.get().uri(ADMIN + "/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .exchange().expectStatus().isForbidden();
+        client.get().uri(ADMIN + "/users/export").header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .exchange().expectStatus().isForbidden();
+        client.put().uri(ADMIN + "/users/{id}/roles", userId).header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(Map.of("roles", List.of("ROLE_SUPER_ADMIN")))
+                .exchange().expectStatus().isForbidden();
+
+        String adminToken = login("superadmin@school.com", "SuperAdmin@123").get("accessToken").asString();
+        client.get().uri(ADMIN + "/users?limit=500").header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .exchange().expectStatus().isOk()
+                .expectBody().jsonPath("$.data.users[?(@.email == '" + email + "')]").exists();
+        client.get().uri(ADMIN + "/users?limit=0").header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .exchange().expectStatus().isBadRequest();
+
+        client.put().uri(ADMIN + "/users/{id}/roles", userId).header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(Map.of("roles", List.of("ROLE_NOPE")))
+                .exchange().expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Role not found: ROLE_NOPE");
+        client.put().uri(ADMIN + "/users/{id}/roles", userId).header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(Map.of("roles", List.of("ROLE_ADMIN")))
+                .exchange().expectStatus().isOk()
+                .expectBody().jsonPath("$.data.roles[0].name").isEqualTo("ROLE_ADMIN");
+
+        // New tokens carry the granted role's permissions
+        String promotedToken = login(email, PASSWORD).get("accessToken").asString();
+        client.get().uri(ADMIN + "/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + promotedToken)
+                .exchange().expectStatus().isOk();
+    }
+
+    @Test
+    void exportStreamsEveryUser() {
+        String email = "export@school.com";
+        register(email);
+        String adminToken = login("superadmin@school.com", "SuperAdmin@123").get("accessToken").asString();
+
+        String ndjson = client.get().uri(ADMIN + "/users/export").header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .exchange().expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.parseMediaType("application/x-ndjson"))
+                .expectBody(String.class).returnResult().getResponseBody();
+        assertThat(ndjson.lines()).anySatisfy(line -> assertThat(json.readTree(line).get("email").asString()).isEqualTo(email));
+
+        String csv = client.get().uri(ADMIN + "/users/export?format=csv").header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .exchange().expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+        assertThat(csv).startsWith("id,username,email,enabled,roles\r\n").contains("," + email + ",");
+
+        client.get().uri(ADMIN + "/users/export?format=xml").header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .exchange().expectStatus().isBadRequest();
+    }
+
+    private long register(String email) {
+        JsonNode registered = body(post(AUTH + "/register",
+                Map.of("username", email.substring(0, email.indexOf('@')), "email", email, "password", PASSWORD))
+                .expectStatus().isCreated());
+        return registered.at("/data/id").asLong();
+    }
+
+    private JsonNode login(String email, String password) {
+        post(AUTH + "/login/request-otp", Map.of("email", email, "password", password)).expectStatus().isOk();
+        return body(post(AUTH + "/login", Map.of("email", email, "otp", otpSender.next(email)))
+                .expectStatus().isOk()).get("data");
+    }
+
+    private WebTestClient.ResponseSpec post(String path, Object body) {
+        return client.post().uri(path).contentType(MediaType.APPLICATION_JSON).bodyValue(body).exchange();
+    }
+
+    private JsonNode body(WebTestClient.ResponseSpec response) {
+        return json.readTree(response.expectBody(String.class).returnResult().getResponseBody());
+    }
+
+    static class CapturingOtpSender implements OtpSender {
+        private final Map<String, BlockingQueue<String>> codes = new ConcurrentHashMap<>();
+
+        @Override
+        public void send(List<OtpMessage> messages) {
+            for (OtpMessage message : messages) {
+                codes.computeIfAbsent(message.email(), email -> new LinkedBlockingQueue<>()).add(message.code());
+            }
+        }
+
+        String next(String email) {
+            try {
+                String code = codes.computeIfAbsent(email, e -> new LinkedBlockingQueue<>()).poll(10, TimeUnit.SECONDS);
+                assertThat(code).as("OTP for %s", email).isNotNull();
+                return code;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
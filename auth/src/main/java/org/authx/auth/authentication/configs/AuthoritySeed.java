@@ -0,0 +1,66 @@
+package org.authx.auth.authentication.configs;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Declared role/permission catalog from {@code authority-catalog.json}. A role listing {@code "*"}
+ * gets every permission in the table, including ones created outside the file.
+ */
+public record AuthoritySeed(Map<String, String> permissions, Map<String, List<String>> roles) {
+    public static final String RESOURCE = "authority-catalog.json";
+    public static final String ALL_PERMISSIONS = "*";
+
+    public static AuthoritySeed load(JsonMapper jsonMapper) {
+        try (InputStream in = AuthoritySeed.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException(RESOURCE + " not found on the classpath");
+            }
+            return jsonMapper.readValue(in, AuthoritySeed.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean grantsAll() {
+        return roles.values().stream().anyMatch(granted -> granted.contains(ALL_PERMISSIONS));
+    }
+
+    /**
+     * SHA-256 over a canonical (sorted) rendering, so formatting and ordering changes in the file
+     * do not force a reseed. When a role grants {@code "*"} the permission names in the table are
+     * part of the input, since that is what {@code "*"} expands to.
+     *
+     * @param tablePermissions permission names currently in the table
+     */
+    public String checksum(Collection<String> tablePermissions) {
+        StringBuilder canonical = new StringBuilder();
+        new TreeMap<>(permissions).forEach((name, description) ->
+                canonical.append("P\t").append(name).append('\t').append(description).append('\n'));
+        new TreeMap<>(roles).forEach((name, granted) ->
+                canonical.append("R\t").append(name).append('\t')
+                        .append(String.join(",", granted.stream().sorted().toList())).append('\n'));
+        if (grantsAll()) {
+            new TreeSet<>(tablePermissions).forEach(name -> canonical.append("T\t").append(name).append('\n'));
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.authx.auth.authentication.configs;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USER_DETAILS_CACHE = "userDetails";
+}
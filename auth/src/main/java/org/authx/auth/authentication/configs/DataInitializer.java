@@ -1,134 +1,165 @@
 package org.authx.auth.authentication.configs;
 
-import org.authx.auth.authentication.models.Permission;
+import org.authx.auth.authentication.models.CatalogState;
 import org.authx.auth.authentication.models.Role;
 import org.authx.auth.authentication.models.User;
-import org.authx.auth.authentication.repositories.PermissionRepository;
+import org.authx.auth.authentication.repositories.AuthorityCatalogJdbcRepository;
+import org.authx.auth.authentication.repositories.AuthorityCatalogJdbcRepository.PermissionRow;
+import org.authx.auth.authentication.repositories.CatalogStateRepository;
 import org.authx.auth.authentication.repositories.RoleRepository;
 import org.authx.auth.authentication.repositories.UserRepository;
+import org.authx.auth.authentication.services.AuthorityCatalog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 @Component
 @Order(1)
 public class DataInitializer implements CommandLineRunner {
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+    private static final String CATALOG_STATE = "authority-catalog";
 
-    private final PermissionRepository permissionRepository;
+    private final AuthorityCatalogJdbcRepository catalogRepository;
+    private final CatalogStateRepository catalogStateRepository;
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AuthorityCatalog authorityCatalog;
+    private final JsonMapper jsonMapper;
 
-    public DataInitializer(PermissionRepository permissionRepository,
+    public DataInitializer(AuthorityCatalogJdbcRepository catalogRepository,
+                          CatalogStateRepository catalogStateRepository,
                           RoleRepository roleRepository,
                           UserRepository userRepository,
-                          PasswordEncoder passwordEncoder) {
-        this.permissionRepository = permissionRepository;
+                          PasswordEncoder passwordEncoder,
+                          AuthorityCatalog authorityCatalog,
+                          JsonMapper jsonMapper) {
+        this.catalogRepository = catalogRepository;
+        this.catalogStateRepository = catalogStateRepository;
         this.roleRepository = roleRepository;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.authorityCatalog = authorityCatalog;
+        this.jsonMapper = jsonMapper;
     }
 
     @Override
     @Transactional
     public void run(String... args) {
-        initializePermissions();
-        initializeRoles();
-        initializeSuperAdmin();
+        initialize(AuthoritySeed.load(jsonMapper));
     }
 
-    private void initializePermissions() {
-        // Student permissions
-        createPermissionIfNotExists("STUDENT_READ", "Read student information");
-        createPermissionIfNotExists("STUDENT_CREATE", "Create new students");
-        createPermissionIfNotExists("STUDENT_UPDATE", "Update student information");
-        createPermissionIfNotExists("STUDENT_DELETE", "Delete students");
-
-        // Admin management permissions
-        createPermissionIfNotExists("ADMIN_CREATE", "Create new admins");
-        createPermissionIfNotExists("ADMIN_READ", "Read admin information");
-        createPermissionIfNotExists("ADMIN_UPDATE", "Update admin information");
-        createPermissionIfNotExists("ADMIN_DELETE", "Delete admins");
-
-        // Teacher permissions (for future use)
-        createPermissionIfNotExists("TEACHER_READ", "Read teacher information");
-        createPermissionIfNotExists("TEACHER_CREATE", "Create new teachers");
-        createPermissionIfNotExists("TEACHER_UPDATE", "Update teacher information");
-        createPermissionIfNotExists("TEACHER_DELETE", "Delete teachers");
-
-        // Course permissions (for future use)
-        createPermissionIfNotExists("COURSE_READ", "Read course information");
-        createPermissionIfNotExists("COURSE_CREATE", "Create new courses");
-        createPermissionIfNotExists("COURSE_UPDATE", "Update course information");
-        createPermissionIfNotExists("COURSE_DELETE", "Delete courses");
-
-        // User role and permission management
-        createPermissionIfNotExists("USER_ROLE_UPDATE", "Update user roles");
-        createPermissionIfNotExists("USER_PERMISSION_UPDATE", "Update user permissions");
-    }
+    void initialize(AuthoritySeed seed) {
+        // A permission created in the table changes what "*" covers, so it is part of the checksum
+        String checksum = seed.checksum(catalogRepository.findPermissions().keySet());
+
+        CatalogState state = catalogStateRepository.findById(CATALOG_STATE).orElse(null);
+        if (state != null && checksum.equals(state.getChecksum())) {
+            log.info("Authority catalog unchanged ({}), skipping seeding", checksum.substring(0, 12));
+        } else {
+            applyCatalog(seed);
+            if (state == null) {
+                state = new CatalogState();
+                state.setName(CATALOG_STATE);
+            }
+            state.setChecksum(seed.checksum(catalogRepository.findPermissions().keySet()));
+            state.setAppliedAt(LocalDateTime.now());
+            catalogStateRepository.save(state);
+        }
 
-    private void createPermissionIfNotExists(String name, String description) {
-        permissionRepository.findByName(name).orElseGet(() -> {
-            Permission permission = new Permission();
-            permission.setName(name);
-            permission.setDescription(description);
-            return permissionRepository.save(permission);
+        initializeSuperAdmin();
+
+        // Publish the seeded catalog once it is committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                authorityCatalog.refresh();
+            }
         });
     }
 
-    private void initializeRoles() {
-        // Super Admin Role with all permissions
-        Role superAdminRole = roleRepository.findByName("ROLE_SUPER_ADMIN").orElseGet(() -> {
-            Role role = new Role();
-            role.setName("ROLE_SUPER_ADMIN");
-            role.setPermissions(new HashSet<>(permissionRepository.findAll()));
-            return roleRepository.save(role);
-        });
+    /**
+     * Loads each catalog table once, diffs it against the seed and writes only the differences,
+     * one JDBC batch per kind of change. Roles and permissions missing from the seed are left alone.
+     */
+    private void applyCatalog(AuthoritySeed seed) {
+        Map<String, PermissionRow> permissions = catalogRepository.findPermissions();
+        List<String[]> newPermissions = new ArrayList<>();
+        List<String[]> changedDescriptions = new ArrayList<>();
+        for (Map.Entry<String, String> permission : seed.permissions().entrySet()) {
+            PermissionRow existing = permissions.get(permission.getKey());
+            if (existing == null) {
+                newPermissions.add(new String[]{permission.getKey(), permission.getValue()});
+            } else if (!Objects.equals(existing.description(), permission.getValue())) {
+                changedDescriptions.add(new String[]{permission.getKey(), permission.getValue()});
+            }
+        }
+        if (!newPermissions.isEmpty()) {
+            catalogRepository.insertPermissions(newPermissions);
+            permissions = catalogRepository.findPermissions();
+        }
+        if (!changedDescriptions.isEmpty()) {
+            catalogRepository.updatePermissionDescriptions(changedDescriptions);
+        }
 
-        // Update super admin role with all permissions (in case new permissions were added)
-        Set<Permission> allPermissions = new HashSet<>(permissionRepository.findAll());
-        superAdminRole.setPermissions(allPermissions);
-        roleRepository.save(superAdminRole);
-
-        // Admin Role with admin management and student permissions
-        Role adminRole = roleRepository.findByName("ROLE_ADMIN").orElseGet(() -> {
-            Role role = new Role();
-            role.setName("ROLE_ADMIN");
-            Set<Permission> adminPermissions = new HashSet<>();
-            
-            // Student permissions
-            permissionRepository.findByName("STUDENT_READ").ifPresent(adminPermissions::add);
-            permissionRepository.findByName("STUDENT_CREATE").ifPresent(adminPermissions::add);
-            permissionRepository.findByName("STUDENT_UPDATE").ifPresent(adminPermissions::add);
-            permissionRepository.findByName("STUDENT_DELETE").ifPresent(adminPermissions::add);
-            
-            // Admin management permissions
-            permissionRepository.findByName("ADMIN_CREATE").ifPresent(adminPermissions::add);
-            permissionRepository.findByName("ADMIN_READ").ifPresent(adminPermissions::add);
-            permissionRepository.findByName("ADMIN_UPDATE").ifPresent(adminPermissions::add);
-            permissionRepository.findByName("ADMIN_DELETE").ifPresent(adminPermissions::add);
-            
-            role.setPermissions(adminPermissions);
-            return roleRepository.save(role);
-        });
-        
-        // Update admin role permissions in case new permissions were added
-        Set<Permission> adminPermissions = new HashSet<>();
-        permissionRepository.findByName("STUDENT_READ").ifPresent(adminPermissions::add);
-        permissionRepository.findByName("STUDENT_CREATE").ifPresent(adminPermissions::add);
-        permissionRepository.findByName("STUDENT_UPDATE").ifPresent(adminPermissions::add);
-        permissionRepository.findByName("STUDENT_DELETE").ifPresent(adminPermissions::add);
-        permissionRepository.findByName("ADMIN_CREATE").ifPresent(adminPermissions::add);
-        permissionRepository.findByName("ADMIN_READ").ifPresent(adminPermissions::add);
-        permissionRepository.findByName("ADMIN_UPDATE").ifPresent(adminPermissions::add);
-        permissionRepository.findByName("ADMIN_DELETE").ifPresent(adminPermissions::add);
-        adminRole.setPermissions(adminPermissions);
-        roleRepository.save(adminRole);
+        Map<String, Long> roles = catalogRepository.findRoles();
+        List<String> newRoles = seed.roles().keySet().stream().filter(name -> !roles.containsKey(name)).sorted().toList();
+        if (!newRoles.isEmpty()) {
+            catalogRepository.insertRoles(newRoles);
+            roles.putAll(catalogRepository.findRoles());
+        }
+
+        Set<Long> seededRoleIds = new HashSet<>();
+        Set<RolePermission> desired = new HashSet<>();
+        for (Map.Entry<String, List<String>> role : seed.roles().entrySet()) {
+            long roleId = roles.get(role.getKey());
+            seededRoleIds.add(roleId);
+            for (String granted : role.getValue()) {
+                if (AuthoritySeed.ALL_PERMISSIONS.equals(granted)) {
+                    permissions.values().forEach(permission -> desired.add(new RolePermission(roleId, permission.id())));
+                } else {
+                    PermissionRow permission = permissions.get(granted);
+                    if (permission == null) {
+                        throw new IllegalStateException("Role " + role.getKey() + " grants undeclared permission " + granted);
+                    }
+                    desired.add(new RolePermission(roleId, permission.id()));
+                }
+            }
+        }
+
+        Set<RolePermission> existing = new HashSet<>();
+        catalogRepository.findRolePermissions().forEach(row -> existing.add(new RolePermission(row[0], row[1])));
+
+        List<long[]> toInsert = desired.stream().filter(row -> !existing.contains(row))
+                .sorted(RolePermission.ORDER).map(RolePermission::toRow).toList();
+        List<long[]> toDelete = existing.stream()
+                .filter(row -> seededRoleIds.contains(row.roleId()) && !desired.contains(row))
+                .sorted(RolePermission.ORDER).map(RolePermission::toRow).toList();
+        if (!toDelete.isEmpty()) {
+            catalogRepository.deleteRolePermissions(toDelete);
+        }
+        if (!toInsert.isEmpty()) {
+            catalogRepository.insertRolePermissions(toInsert);
+        }
+
+        log.info("Authority catalog applied: +{} permissions, {} descriptions updated, +{} roles, +{}/-{} role permissions",
+                newPermissions.size(), changedDescriptions.size(), newRoles.size(), toInsert.size(), toDelete.size());
     }
 
     private void initializeSuperAdmin() {
@@ -150,5 +181,13 @@ public class DataInitializer implements CommandLineRunner {
             System.out.println("Super Admin created: superadmin@school.com / SuperAdmin@123");
         }
     }
-}
 
+    private record RolePermission(long roleId, long permissionId) {
+        static final Comparator<RolePermission> ORDER =
+                Comparator.comparingLong(RolePermission::roleId).thenComparingLong(RolePermission::permissionId);
+
+        long[] toRow() {
+            return new long[]{roleId, permissionId};
+        }
+    }
+}
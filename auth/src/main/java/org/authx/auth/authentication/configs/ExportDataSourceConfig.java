@@ -0,0 +1,42 @@
+package org.authx.auth.authentication.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Separate pool for user exports. A download holds its connection for as long as the client takes to
+ * read it, so exports never borrow from the main pool, and at most {@code auth.admin.export.max-concurrent}
+ * of them run at once. MySQL cursor fetch is switched on for these connections only.
+ */
+@Configuration
+public class ExportDataSourceConfig {
+
+    public static final String EXPORT_DATA_SOURCE = "exportDataSource";
+
+    // Not a default candidate, so the auto-configured main DataSource stays in place
+    @Bean(name = EXPORT_DATA_SOURCE, defaultCandidate = false)
+    @Qualifier(EXPORT_DATA_SOURCE)
+    public HikariDataSource exportDataSource(@Value("${auth.admin.export.datasource.url:${spring.datasource.url}}") String url,
+                                             @Value("${auth.admin.export.datasource.username:${spring.datasource.username:}}") String username,
+                                             @Value("${auth.admin.export.datasource.password:${spring.datasource.password:}}") String password,
+                                             @Value("${spring.datasource.driver-class-name:}") String driverClassName,
+                                             @Value("${auth.admin.export.max-concurrent:2}") int maxConcurrent) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("export");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        if (!driverClassName.isEmpty()) {
+            dataSource.setDriverClassName(driverClassName);
+        }
+        dataSource.setMaximumPoolSize(maxConcurrent);
+        dataSource.setMinimumIdle(0);
+        dataSource.setReadOnly(true);
+        // Without it Connector/J buffers the whole result set in memory; other drivers ignore the property
+        dataSource.addDataSourceProperty("useCursorFetch", "true");
+        return dataSource;
+    }
+}
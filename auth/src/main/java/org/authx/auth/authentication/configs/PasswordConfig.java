@@ -1,16 +1,43 @@
 package org.authx.auth.authentication.configs;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.authx.auth.authentication.security.BCryptStrengthCalibrator;
+import org.authx.auth.authentication.security.BoundedPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+import java.util.Map;
+
 @Configuration
 public class PasswordConfig {
 
+    private static final String BCRYPT_ID = "bcrypt";
+    private static final int MIN_BCRYPT_STRENGTH = 10;
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.hashing.threads:0}") int threads,
+                                           @Value("${auth.password.hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${auth.password.bcrypt.strength:10}") int strength,
+                                           @Value("${auth.password.bcrypt.target-latency:80ms}") Duration targetLatency,
+                                           MeterRegistry meterRegistry) {
+        // strength=0 opts in to calibrating the work factor against the target latency on this host
+        int bcryptStrength = strength > 0
+                ? strength
+                : BCryptStrengthCalibrator.calibrate(targetLatency, MIN_BCRYPT_STRENGTH, MAX_BCRYPT_STRENGTH);
+
+        // New hashes are stored as {bcrypt}...; legacy unprefixed hashes still verify and report upgradeEncoding
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(BCRYPT_ID,
+                Map.of(BCRYPT_ID, new BCryptPasswordEncoder(bcryptStrength)));
+        delegating.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        // 0 means one hashing thread per available core
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegating, poolSize, queueCapacity, meterRegistry);
     }
 }
-
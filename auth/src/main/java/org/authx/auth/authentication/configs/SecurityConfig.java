@@ -1,15 +1,31 @@
 package org.authx.auth.authentication.configs;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.authx.auth.authentication.security.AuthorityBitsJwtAuthenticationConverter;
+import org.authx.auth.authentication.security.AuthorityChecks;
+import org.authx.auth.authentication.security.CachedCredentialAuthenticationProvider;
+import org.authx.auth.authentication.security.HashingAwareAuthenticationEntryPoint;
+import org.authx.auth.authentication.security.RequiresPermissionAuthorizationManager;
 import org.authx.auth.authentication.services.CustomUserDetailsService;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
-import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
+
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity
@@ -18,14 +34,21 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
     private final PasswordEncoder passwordEncoder;
+    private final AuthorityBitsJwtAuthenticationConverter jwtAuthenticationConverter;
 
-    public SecurityConfig(CustomUserDetailsService uds, PasswordEncoder encoder) {
+    public SecurityConfig(CustomUserDetailsService uds, PasswordEncoder encoder,
+                          AuthorityBitsJwtAuthenticationConverter jwtAuthenticationConverter) {
         this.userDetailsService = uds;
         this.passwordEncoder = encoder;
+        this.jwtAuthenticationConverter = jwtAuthenticationConverter;
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+            ObjectProvider<CachedCredentialAuthenticationProvider> cachedCredentialProvider) throws Exception {
+        // Opt-in: skip BCrypt for recently verified basic-auth credentials
+        AuthenticationProvider provider = cachedCredentialProvider.getIfAvailable(this::authenticationProvider);
+
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
@@ -49,17 +72,51 @@ public class SecurityConfig {
                         .loginPage("/auth/login")
                         .permitAll()
                 )
-                .httpBasic(Customizer.withDefaults()) // <--- ENABLE BASIC AUTH FOR SWAGGER
+                // Bearer tokens from /api/v1/auth/login are verified locally: no DB lookup, no BCrypt
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter))
+                )
+                // <--- ENABLE BASIC AUTH FOR SWAGGER; a saturated hashing pool answers 503 rather than 500
+                .httpBasic(basic -> basic.authenticationEntryPoint(basicAuthenticationEntryPoint()))
                 .logout(logout -> logout.permitAll())
-                .userDetailsService(userDetailsService);
+                .authenticationProvider(provider);
 
         return http.build();
     }
 
+    private static AuthenticationEntryPoint basicAuthenticationEntryPoint() {
+        BasicAuthenticationEntryPoint basic = new BasicAuthenticationEntryPoint();
+        basic.setRealmName("Realm");
+        return new HashingAwareAuthenticationEntryPoint(basic);
+    }
+
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider p = new DaoAuthenticationProvider(userDetailsService);
         p.setPasswordEncoder(passwordEncoder);
         return p;
     }
+
+    @Bean
+    @ConditionalOnProperty(name = "auth.basic.credential-cache.enabled", havingValue = "true")
+    public CachedCredentialAuthenticationProvider cachedCredentialAuthenticationProvider(
+            @Value("${auth.basic.credential-cache.ttl:60s}") Duration ttl,
+            @Value("${auth.basic.credential-cache.max-size:10000}") long maximumSize,
+            MeterRegistry meterRegistry) {
+        return new CachedCredentialAuthenticationProvider(authenticationProvider(), ttl, maximumSize, meterRegistry);
+    }
+
+    // @RequiresPermission: requirements resolved for every bean at startup, checked as bit tests without SpEL
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static RequiresPermissionAuthorizationManager requiresPermissionAuthorizationManager(
+            ObjectProvider<AuthorityChecks> authorityChecks) {
+        return new RequiresPermissionAuthorizationManager(authorityChecks::getObject);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor requiresPermissionAuthorization(RequiresPermissionAuthorizationManager requiresPermissionAuthorizationManager) {
+        return requiresPermissionAuthorizationManager.interceptor();
+    }
 }
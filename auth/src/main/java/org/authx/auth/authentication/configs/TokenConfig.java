@@ -0,0 +1,71 @@
+package org.authx.auth.authentication.configs;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.authx.auth.authentication.security.AuthorityBitsJwtAuthenticationConverter;
+import org.authx.auth.authentication.security.AuthorityRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtClaimValidator;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Base64;
+
+@Configuration
+public class TokenConfig {
+
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_AUTHORITIES = "authorities";
+    public static final String CLAIM_TOKEN_TYPE = "token_type";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    public static final String TOKEN_TYPE_ACCESS = "access";
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+
+    @Bean
+    public SecretKey tokenSigningKey(@Value("${auth.token.secret:}") String secret) {
+        // No built-in fallback: a key shipped with the code would let anyone mint tokens
+        if (secret.isBlank()) {
+            throw new IllegalStateException(
+                    "auth.token.secret is not set; provide AUTH_TOKEN_SECRET (base64, at least 32 bytes)");
+        }
+        byte[] key = Base64.getDecoder().decode(secret);
+        if (key.length < 32) {
+            throw new IllegalStateException("auth.token.secret must decode to at least 32 bytes");
+        }
+        return new SecretKeySpec(key, "HmacSHA256");
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(SecretKey tokenSigningKey) {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(tokenSigningKey));
+    }
+
+    // Used by the resource server filter: accepts access tokens only, verified locally without any lookup
+    @Bean
+    public JwtDecoder jwtDecoder(SecretKey tokenSigningKey) {
+        return decoderFor(tokenSigningKey, TOKEN_TYPE_ACCESS);
+    }
+
+    @Bean
+    public AuthorityBitsJwtAuthenticationConverter jwtAuthenticationConverter(AuthorityRegistry authorityRegistry) {
+        return new AuthorityBitsJwtAuthenticationConverter(authorityRegistry);
+    }
+
+    public static NimbusJwtDecoder decoderFor(SecretKey key, String tokenType) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(key)
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefault(),
+                new JwtClaimValidator<String>(CLAIM_TOKEN_TYPE, tokenType::equals)));
+        return decoder;
+    }
+}
@@ -1,29 +1,83 @@
 package org.authx.auth.authentication.controllers;
 
 import jakarta.validation.Valid;
+import org.authx.auth.authentication.dtos.BulkUpdateResponse;
+import org.authx.auth.authentication.dtos.BulkUpdateUserPermissionsRequest;
+import org.authx.auth.authentication.dtos.BulkUpdateUserRolesRequest;
 import org.authx.auth.authentication.dtos.CreateAdminRequest;
 import org.authx.auth.authentication.dtos.UpdateUserPermissionsRequest;
 import org.authx.auth.authentication.dtos.UpdateUserRolesRequest;
+import org.authx.auth.authentication.dtos.UserPage;
 import org.authx.auth.authentication.models.ApiResponse;
 import org.authx.auth.authentication.models.User;
+import org.authx.auth.authentication.security.RequiresPermission;
+import org.authx.auth.authentication.services.BulkAssignmentService;
+import org.authx.auth.authentication.services.UserDirectoryService;
 import org.authx.auth.authentication.services.UserManagementService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/admin")
 public class AdminController {
 
     private final UserManagementService userManagementService;
+    private final BulkAssignmentService bulkAssignmentService;
+    private final UserDirectoryService userDirectoryService;
 
-    public AdminController(UserManagementService userManagementService) {
+    public AdminController(UserManagementService userManagementService,
+                           BulkAssignmentService bulkAssignmentService,
+                           UserDirectoryService userDirectoryService) {
         this.userManagementService = userManagementService;
+        this.bulkAssignmentService = bulkAssignmentService;
+        this.userDirectoryService = userDirectoryService;
+    }
+
+    @GetMapping("/users")
+    @RequiresPermission("ADMIN_READ")
+    public ResponseEntity<ApiResponse<UserPage>> listUsers(
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            UserPage page = userDirectoryService.listUsers(afterId, limit);
+            ApiResponse<UserPage> response = new ApiResponse<>(
+                    HttpStatus.OK.value(),
+                    "Users retrieved successfully",
+                    page
+            );
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            ApiResponse<UserPage> response = new ApiResponse<>(
+                    HttpStatus.BAD_REQUEST.value(),
+                    e.getMessage(),
+                    null
+            );
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
+
+    @GetMapping("/users/export")
+    @RequiresPermission("ADMIN_READ")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        return switch (format) {
+            case "ndjson" -> ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"")
+                    .body(userDirectoryService.reserveExport(userDirectoryService::exportNdjson)::writeTo);
+            case "csv" -> ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\"")
+                    .body(userDirectoryService.reserveExport(userDirectoryService::exportCsv)::writeTo);
+            default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+        };
     }
 
     @PostMapping("/create")
-    @PreAuthorize("hasAuthority('ADMIN_CREATE')")
+    @RequiresPermission("ADMIN_CREATE")
     public ResponseEntity<ApiResponse<User>> createAdmin(@Valid @RequestBody CreateAdminRequest request) {
         try {
             User admin = userManagementService.createAdmin(request);
@@ -44,7 +98,7 @@ public class AdminController {
     }
 
     @PutMapping("/users/{userId}/roles")
-    @PreAuthorize("hasAuthority('USER_ROLE_UPDATE')")
+    @RequiresPermission("USER_ROLE_UPDATE")
     public ResponseEntity<ApiResponse<User>> updateUserRoles(
             @PathVariable Long userId,
             @Valid @RequestBody UpdateUserRolesRequest request) {
@@ -67,7 +121,7 @@ public class AdminController {
     }
 
     @PutMapping("/users/{userId}/permissions")
-    @PreAuthorize("hasAuthority('USER_PERMISSION_UPDATE')")
+    @RequiresPermission("USER_PERMISSION_UPDATE")
     public ResponseEntity<ApiResponse<User>> updateUserPermissions(
             @PathVariable Long userId,
             @Valid @RequestBody UpdateUserPermissionsRequest request) {
@@ -88,5 +142,48 @@ public class AdminController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         }
     }
-}
 
+    @PutMapping("/users/roles")
+    @RequiresPermission("USER_ROLE_UPDATE")
+    public ResponseEntity<ApiResponse<BulkUpdateResponse>> bulkUpdateUserRoles(
+            @Valid @RequestBody BulkUpdateUserRolesRequest request) {
+        try {
+            BulkUpdateResponse result = bulkAssignmentService.updateRoles(request);
+            ApiResponse<BulkUpdateResponse> response = new ApiResponse<>(
+                    HttpStatus.OK.value(),
+                    "User roles updated successfully",
+                    result
+            );
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            ApiResponse<BulkUpdateResponse> response = new ApiResponse<>(
+                    HttpStatus.BAD_REQUEST.value(),
+                    e.getMessage(),
+                    null
+            );
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
+
+    @PutMapping("/users/permissions")
+    @RequiresPermission("USER_PERMISSION_UPDATE")
+    public ResponseEntity<ApiResponse<BulkUpdateResponse>> bulkUpdateUserPermissions(
+            @Valid @RequestBody BulkUpdateUserPermissionsRequest request) {
+        try {
+            BulkUpdateResponse result = bulkAssignmentService.updatePermissions(request);
+            ApiResponse<BulkUpdateResponse> response = new ApiResponse<>(
+                    HttpStatus.OK.value(),
+                    "User permissions updated successfully",
+                    result
+            );
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            ApiResponse<BulkUpdateResponse> response = new ApiResponse<>(
+                    HttpStatus.BAD_REQUEST.value(),
+                    e.getMessage(),
+                    null
+            );
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
+}
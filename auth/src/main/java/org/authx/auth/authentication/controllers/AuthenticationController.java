@@ -5,17 +5,17 @@ import org.authx.auth.authentication.dtos.LoginOtpRequest;
 import org.authx.auth.authentication.dtos.LoginRequest;
 import org.authx.auth.authentication.dtos.PasswordResetConfirm;
 import org.authx.auth.authentication.dtos.PasswordResetRequest;
+import org.authx.auth.authentication.dtos.RefreshTokenRequest;
 import org.authx.auth.authentication.dtos.RegisterRequest;
+import org.authx.auth.authentication.dtos.TokenResponse;
 import org.authx.auth.authentication.models.ApiResponse;
 import org.authx.auth.authentication.models.CustomUserDetails;
 import org.authx.auth.authentication.models.User;
 import org.authx.auth.authentication.services.AuthenticationService;
 import org.authx.auth.authentication.services.CustomUserDetailsService;
+import org.authx.auth.authentication.services.TokenService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -24,11 +24,14 @@ public class AuthenticationController {
 
     private final AuthenticationService authenticationService;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenService tokenService;
 
     public AuthenticationController(AuthenticationService authenticationService,
-                                    CustomUserDetailsService userDetailsService) {
+                                    CustomUserDetailsService userDetailsService,
+                                    TokenService tokenService) {
         this.authenticationService = authenticationService;
         this.userDetailsService = userDetailsService;
+        this.tokenService = tokenService;
     }
 
     @PostMapping("/register")
@@ -72,12 +75,12 @@ public class AuthenticationController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<String>> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<ApiResponse<TokenResponse>> login(@Valid @RequestBody LoginRequest request) {
         try {
             boolean isValid = authenticationService.verifyLoginOtp(request.getEmail(), request.getOtp());
             
             if (!isValid) {
-                ApiResponse<String> response = new ApiResponse<>(
+                ApiResponse<TokenResponse> response = new ApiResponse<>(
                         HttpStatus.UNAUTHORIZED.value(),
                         "Invalid or expired OTP",
                         null
@@ -85,23 +88,18 @@ public class AuthenticationController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
             }
 
-            // Create authentication and set it in security context
+            // Issue a signed access token; later requests authenticate with it without touching the database
             CustomUserDetails userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(request.getEmail());
-            Authentication authentication = new UsernamePasswordAuthenticationToken(
-                    userDetails,
-                    null,
-                    userDetails.getAuthorities()
-            );
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            TokenResponse tokens = tokenService.issueTokens(userDetails);
 
-            ApiResponse<String> response = new ApiResponse<>(
+            ApiResponse<TokenResponse> response = new ApiResponse<>(
                     HttpStatus.OK.value(),
                     "Login successful",
-                    "User authenticated"
+                    tokens
             );
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
-            ApiResponse<String> response = new ApiResponse<>(
+            ApiResponse<TokenResponse> response = new ApiResponse<>(
                     HttpStatus.BAD_REQUEST.value(),
                     e.getMessage(),
                     null
@@ -110,6 +108,26 @@ public class AuthenticationController {
         }
     }
 
+    @PostMapping("/token/refresh")
+    public ResponseEntity<ApiResponse<TokenResponse>> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        try {
+            TokenResponse tokens = tokenService.refresh(request.getRefreshToken());
+            ApiResponse<TokenResponse> response = new ApiResponse<>(
+                    HttpStatus.OK.value(),
+                    "Token refreshed successfully",
+                    tokens
+            );
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            ApiResponse<TokenResponse> response = new ApiResponse<>(
+                    HttpStatus.UNAUTHORIZED.value(),
+                    e.getMessage(),
+                    null
+            );
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+    }
+
     @PostMapping("/password-reset/request")
     public ResponseEntity<ApiResponse<Void>> requestPasswordReset(@Valid @RequestBody PasswordResetRequest request) {
         try {
@@ -1,6 +1,9 @@
 package org.authx.auth.authentication.controllers;
 
 import org.authx.auth.authentication.models.ApiResponse;
+import org.authx.auth.authentication.security.PasswordHashingRejectedException;
+import org.authx.auth.authentication.services.ExportRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -37,5 +40,28 @@ public class GlobalExceptionHandler {
         );
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
-}
 
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<ApiResponse<Void>> handlePasswordHashingRejected(PasswordHashingRejectedException ex) {
+        ApiResponse<Void> response = new ApiResponse<>(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    @ExceptionHandler(ExportRejectedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleExportRejected(ExportRejectedException ex) {
+        ApiResponse<Void> response = new ApiResponse<>(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(response);
+    }
+}
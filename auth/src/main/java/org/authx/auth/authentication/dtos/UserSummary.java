@@ -0,0 +1,20 @@
+package org.authx.auth.authentication.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+    private Long id;
+    private String username;
+    private String email;
+    private boolean enabled;
+    private List<String> roles; // Role names only; no permissions or password hash
+}
@@ -0,0 +1,26 @@
+package org.authx.auth.authentication.models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checksum of the last catalog applied by DataInitializer; a matching checksum skips seeding.
+ */
+@Entity
+@Table(name = "catalog_state")
+@Getter
+@Setter
+public class CatalogState {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false, length = 64)
+    private String checksum;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+}
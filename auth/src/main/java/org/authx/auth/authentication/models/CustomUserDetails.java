@@ -1,48 +1,68 @@
 package org.authx.auth.authentication.models;
 
+import org.authx.auth.authentication.security.AuthorityBits;
+import org.authx.auth.authentication.security.AuthorityBitsHolder;
+import org.authx.auth.authentication.security.AuthorityRegistry;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
 
-public class CustomUserDetails implements UserDetails {
+public class CustomUserDetails implements UserDetails, AuthorityBitsHolder {
 
-    private final User user;
-    private final Set<GrantedAuthority> authorities;
+    // Only scalar copies are kept so cached instances never hold on to a JPA entity graph
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final boolean enabled;
+    private final int tokenVersion;
+    // Shared registry instances, resolved once; this is what a serialized session carries
+    private final List<GrantedAuthority> authorities;
+    // Registry ids are process-local, so the bits are not serialized; checks fall back to the names
+    private final transient AuthorityBits authorityBits;
 
-    public CustomUserDetails(User user) {
-        this.user = user;
-        this.authorities = buildAuthorities(user);
+    public CustomUserDetails(User user, AuthorityRegistry authorityRegistry) {
+        this.id = user.getId();
+        this.email = user.getEmail();
+        this.password = user.getPassword();
+        this.enabled = user.isEnabled();
+        this.tokenVersion = user.getTokenVersion();
+        this.authorityBits = buildAuthorities(user, authorityRegistry);
+        this.authorities = List.copyOf(authorityRegistry.authoritiesOf(authorityBits));
     }
 
-    private Set<GrantedAuthority> buildAuthorities(User user) {
-        Set<GrantedAuthority> auths = new HashSet<>();
+    private AuthorityBits buildAuthorities(User user, AuthorityRegistry registry) {
+        AuthorityBits.Builder auths = new AuthorityBits.Builder();
 
         // Add roles (as ROLE_...)
         for (Role role : user.getRoles()) {
-            auths.add(new SimpleGrantedAuthority(role.getName()));
+            auths.set(registry.idOf(role.getName()));
             // Add role's permissions
             for (Permission perm : role.getPermissions()) {
-                auths.add(new SimpleGrantedAuthority(perm.getName()));
+                auths.set(registry.idOf(perm.getName()));
             }
         }
 
         // Add direct user permissions
         for (Permission perm : user.getPermissions()) {
-            auths.add(new SimpleGrantedAuthority(perm.getName()));
+            auths.set(registry.idOf(perm.getName()));
         }
 
-        return auths;
+        return auths.build();
     }
 
+    public Long getId() { return id; }
+
+    public int getTokenVersion() { return tokenVersion; }
+
+    @Override public AuthorityBits getAuthorityBits() { return authorityBits; }
+
     @Override public Collection<? extends GrantedAuthority> getAuthorities() { return authorities; }
-    @Override public String getPassword() { return user.getPassword(); }
-    @Override public String getUsername() { return user.getEmail(); }
+    @Override public String getPassword() { return password; }
+    @Override public String getUsername() { return email; }
     @Override public boolean isAccountNonExpired() { return true; }
     @Override public boolean isAccountNonLocked() { return true; }
     @Override public boolean isCredentialsNonExpired() { return true; }
-    @Override public boolean isEnabled() { return user.isEnabled(); }
+    @Override public boolean isEnabled() { return enabled; }
 }
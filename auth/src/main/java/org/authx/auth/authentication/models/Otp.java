@@ -9,7 +9,14 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "otps", indexes = @Index(name = "idx_email_type", columnList = "email,type"))
+@Table(name = "otps", indexes = {
+        // Verify lookup: equality on email/type/used, then walked newest first so ORDER BY created_at
+        // DESC LIMIT 1 stops at the first live row; expires_at is checked on that row. Not covering.
+        // ddl-auto=update never drops indexes: databases created by older builds keep idx_email_type
+        // and idx_otp_lookup until "DROP INDEX idx_email_type ON otps" / "DROP INDEX idx_otp_lookup ON otps"
+        @Index(name = "idx_otp_latest", columnList = "email,type,used,created_at"),
+        @Index(name = "idx_otp_expires_at", columnList = "expires_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,13 +36,13 @@ public class Otp {
     @Column(nullable = false)
     private OtpType type;
 
-    @Column(nullable = false)
+    @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
 
     @Column(nullable = false)
     private boolean used = false;
 
-    @Column(nullable = false)
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
     public enum OtpType {
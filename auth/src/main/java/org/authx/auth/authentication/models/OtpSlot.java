@@ -0,0 +1,52 @@
+package org.authx.auth.authentication.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One row per (email, type), overwritten in place by {@code UpsertOtpStore}. The composite primary
+ * key is the unique key the MySQL upsert relies on, so the table is bounded by the user count.
+ */
+@Entity
+@Table(name = "otp_slots", indexes = @Index(name = "idx_otp_slot_expires_at", columnList = "expires_at"))
+@IdClass(OtpSlot.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OtpSlot {
+    @Id
+    @Column(nullable = false)
+    private String email;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Otp.OtpType type;
+
+    @Column(nullable = false, length = 6)
+    private String code;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String email;
+        private Otp.OtpType type;
+    }
+}
@@ -2,6 +2,7 @@ package org.authx.auth.authentication.models;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.Setter;
 
 import java.util.HashSet;
@@ -11,11 +12,14 @@ import java.util.Set;
 @Table(name = "roles")
 @Data
 @Setter
+// Hash on the natural key only: hashing the lazy permission set breaks when roles are fetch-joined
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Role {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @EqualsAndHashCode.Include
     @Column(unique=true, nullable=false)
     private String name; // e.g. ROLE_TEACHER, ROLE_ADMIN
 
@@ -26,4 +30,3 @@ public class Role {
     private Set<Permission> permissions = new HashSet<>();
 
 }
-
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -27,6 +28,12 @@ public class User {
     private String email;
     private boolean enabled = true;
 
+    // Incremented when the password is reset; refresh tokens carrying an older version are refused
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int tokenVersion;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -0,0 +1,101 @@
+package org.authx.auth.authentication.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Whole-table reads and batched writes for seeding the permissions / roles / role_permissions
+ * catalog. Reads are one query per table; each write method is a single JDBC batch.
+ */
+@Repository
+public class AuthorityCatalogJdbcRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuthorityCatalogJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record PermissionRow(long id, String description) {
+    }
+
+    /**
+     * @return id and description by permission name
+     */
+    public Map<String, PermissionRow> findPermissions() {
+        Map<String, PermissionRow> permissions = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name, description FROM permissions", rs -> {
+            permissions.put(rs.getString(2), new PermissionRow(rs.getLong(1), rs.getString(3)));
+        });
+        return permissions;
+    }
+
+    /**
+     * @return id by role name
+     */
+    public Map<String, Long> findRoles() {
+        Map<String, Long> roles = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM roles", rs -> {
+            roles.put(rs.getString(2), rs.getLong(1));
+        });
+        return roles;
+    }
+
+    /**
+     * @return {role_id, permission_id} pairs
+     */
+    public List<long[]> findRolePermissions() {
+        List<long[]> rows = new ArrayList<>();
+        jdbcTemplate.query("SELECT role_id, permission_id FROM role_permissions", rs -> {
+            rows.add(new long[]{rs.getLong(1), rs.getLong(2)});
+        });
+        return rows;
+    }
+
+    /**
+     * @param permissions {name, description} pairs
+     */
+    public void insertPermissions(List<String[]> permissions) {
+        jdbcTemplate.batchUpdate("INSERT INTO permissions (name, description) VALUES (?, ?)",
+                permissions, permissions.size(), (ps, permission) -> {
+                    ps.setString(1, permission[0]);
+                    ps.setString(2, permission[1]);
+                });
+    }
+
+    /**
+     * @param permissions {name, description} pairs
+     */
+    public void updatePermissionDescriptions(List<String[]> permissions) {
+        jdbcTemplate.batchUpdate("UPDATE permissions SET description = ? WHERE name = ?",
+                permissions, permissions.size(), (ps, permission) -> {
+                    ps.setString(1, permission[1]);
+                    ps.setString(2, permission[0]);
+                });
+    }
+
+    public void insertRoles(List<String> names) {
+        jdbcTemplate.batchUpdate("INSERT INTO roles (name) VALUES (?)",
+                names, names.size(), (ps, name) -> ps.setString(1, name));
+    }
+
+    public void insertRolePermissions(List<long[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO role_permissions (role_id, permission_id) VALUES (?, ?)",
+                rows, rows.size(), (ps, row) -> {
+                    ps.setLong(1, row[0]);
+                    ps.setLong(2, row[1]);
+                });
+    }
+
+    public void deleteRolePermissions(List<long[]> rows) {
+        jdbcTemplate.batchUpdate("DELETE FROM role_permissions WHERE role_id = ? AND permission_id = ?",
+                rows, rows.size(), (ps, row) -> {
+                    ps.setLong(1, row[0]);
+                    ps.setLong(2, row[1]);
+                });
+    }
+}
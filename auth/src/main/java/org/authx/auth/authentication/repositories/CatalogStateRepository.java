@@ -0,0 +1,7 @@
+package org.authx.auth.authentication.repositories;
+
+import org.authx.auth.authentication.models.CatalogState;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CatalogStateRepository extends JpaRepository<CatalogState, String> {
+}
@@ -1,25 +1,31 @@
 package org.authx.auth.authentication.repositories;
 
 import org.authx.auth.authentication.models.Otp;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OtpRepository extends JpaRepository<Otp, Long> {
-    Optional<Otp> findByEmailAndTypeAndUsedFalseAndExpiresAtAfterOrderByCreatedAtDesc(
+    Optional<Otp> findFirstByEmailAndTypeAndUsedFalseAndExpiresAtAfterOrderByCreatedAtDesc(
             String email, Otp.OtpType type, LocalDateTime now);
 
-    @Modifying
-    @Query("DELETE FROM Otp o WHERE o.expiresAt < :now")
-    void deleteExpiredOtps(LocalDateTime now);
+    // Bounded by the pageable so each purge batch touches a limited range of idx_otp_expires_at
+    @Query("SELECT o.id FROM Otp o WHERE o.expiresAt < :cutoff")
+    List<Long> findExpiredIds(LocalDateTime cutoff, Pageable pageable);
 
     @Modifying
     @Query("UPDATE Otp o SET o.used = true WHERE o.email = :email AND o.type = :type AND o.used = false")
     void invalidateOtps(String email, Otp.OtpType type);
+
+    @Modifying
+    @Query("UPDATE Otp o SET o.used = true WHERE o.id = :id AND o.used = false")
+    int markUsed(Long id);
 }
 
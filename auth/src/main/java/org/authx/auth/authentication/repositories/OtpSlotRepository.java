@@ -0,0 +1,34 @@
+package org.authx.auth.authentication.repositories;
+
+import org.authx.auth.authentication.models.Otp;
+import org.authx.auth.authentication.models.OtpSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+// Native MySQL statements: each issue or verify is a single round trip
+@Repository
+public interface OtpSlotRepository extends JpaRepository<OtpSlot, OtpSlot.Key> {
+
+    @Modifying
+    @Query(value = "INSERT INTO otp_slots (email, type, code, expires_at, created_at) "
+            + "VALUES (:email, :type, :code, :expiresAt, :createdAt) AS incoming "
+            + "ON DUPLICATE KEY UPDATE code = incoming.code, expires_at = incoming.expires_at, "
+            + "created_at = incoming.created_at", nativeQuery = true)
+    int upsert(String email, String type, String code, LocalDateTime expiresAt, LocalDateTime createdAt);
+
+    // Deleting the matching live row makes verification single-use in one statement
+    @Modifying
+    @Query(value = "DELETE FROM otp_slots WHERE email = :email AND type = :type AND code = :code "
+            + "AND expires_at > :now", nativeQuery = true)
+    int consume(String email, String type, String code, LocalDateTime now);
+
+    boolean existsByEmailAndTypeAndExpiresAtAfter(String email, Otp.OtpType type, LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM otp_slots WHERE expires_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteExpired(LocalDateTime cutoff, int limit);
+}
@@ -2,9 +2,15 @@ package org.authx.auth.authentication.repositories;
 
 import org.authx.auth.authentication.models.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
     Optional<Role> findByName(String name);
+
+    // Whole catalog with permissions in one statement, for the in-memory AuthorityCatalog
+    @Query("select distinct r from Role r left join fetch r.permissions")
+    List<Role> findAllWithPermissions();
 }
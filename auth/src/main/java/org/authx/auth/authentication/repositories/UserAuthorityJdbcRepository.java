@@ -0,0 +1,69 @@
+package org.authx.auth.authentication.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC access to the user_roles / user_permissions join tables for bulk assignment. Rows are
+ * written with batched inserts; callers pass them sorted by (user_id, authority_id) so inserts hit
+ * the primary key in order and concurrent batches take row locks in the same order.
+ */
+@Repository
+public class UserAuthorityJdbcRepository {
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public UserAuthorityJdbcRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    /**
+     * @return email by user id for the ids that exist
+     */
+    public Map<Long, String> findEmailsByIds(Collection<Long> userIds) {
+        Map<Long, String> emails = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, email FROM users WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", userIds),
+                rs -> {
+                    emails.put(rs.getLong(1), rs.getString(2));
+                });
+        return emails;
+    }
+
+    public int deleteForUsers(JoinTable table, Collection<Long> userIds) {
+        return namedJdbcTemplate.update("DELETE FROM " + table.table + " WHERE user_id IN (:ids)",
+                new MapSqlParameterSource("ids", userIds));
+    }
+
+    /**
+     * @param rows {user_id, role_id or permission_id} pairs, already sorted
+     */
+    public void insert(JoinTable table, List<long[]> rows, int batchSize) {
+        jdbcTemplate.batchUpdate("INSERT INTO " + table.table + " (user_id, " + table.authorityColumn + ") VALUES (?, ?)",
+                rows, batchSize, (ps, row) -> {
+                    ps.setLong(1, row[0]);
+                    ps.setLong(2, row[1]);
+                });
+    }
+
+    public enum JoinTable {
+        USER_ROLES("user_roles", "role_id"),
+        USER_PERMISSIONS("user_permissions", "permission_id");
+
+        private final String table;
+        private final String authorityColumn;
+
+        JoinTable(String table, String authorityColumn) {
+            this.table = table;
+            this.authorityColumn = authorityColumn;
+        }
+    }
+}
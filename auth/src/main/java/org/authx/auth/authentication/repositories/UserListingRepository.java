@@ -0,0 +1,103 @@
+package org.authx.auth.authentication.repositories;
+
+import org.authx.auth.authentication.configs.ExportDataSourceConfig;
+import org.authx.auth.authentication.dtos.UserSummary;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Read-only user listing straight from JDBC rows into {@link UserSummary}, without loading entities.
+ * Both queries order by users.id so each user's role rows arrive consecutively and can be folded
+ * into one summary as the result set is read.
+ */
+@Repository
+public class UserListingRepository {
+    private static final String PAGE_SQL = "SELECT u.id, u.username, u.email, u.enabled, r.name "
+            + "FROM (SELECT id, username, email, enabled FROM users WHERE id > ? ORDER BY id LIMIT ?) u "
+            + "LEFT JOIN user_roles ur ON ur.user_id = u.id "
+            + "LEFT JOIN roles r ON r.id = ur.role_id "
+            + "ORDER BY u.id";
+
+    private static final String EXPORT_SQL = "SELECT u.id, u.username, u.email, u.enabled, r.name "
+            + "FROM users u "
+            + "LEFT JOIN user_roles ur ON ur.user_id = u.id "
+            + "LEFT JOIN roles r ON r.id = ur.role_id "
+            + "ORDER BY u.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate exportJdbcTemplate;
+
+    public UserListingRepository(JdbcTemplate jdbcTemplate,
+                                 @Qualifier(ExportDataSourceConfig.EXPORT_DATA_SOURCE) DataSource exportDataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.exportJdbcTemplate = new JdbcTemplate(exportDataSource);
+    }
+
+    /**
+     * Keyset page: users with id greater than {@code afterId}, at most {@code limit} of them.
+     */
+    public List<UserSummary> findPage(long afterId, int limit) {
+        List<UserSummary> page = new ArrayList<>(limit);
+        SummaryFolder folder = new SummaryFolder(page::add);
+        jdbcTemplate.query(PAGE_SQL, folder, afterId, limit);
+        folder.finish();
+        return page;
+    }
+
+    /**
+     * Streams every user to the sink from a forward-only, read-only cursor on the export pool (see
+     * {@link ExportDataSourceConfig}), fetching {@code fetchSize} rows per round trip.
+     */
+    public void streamAll(int fetchSize, Consumer<UserSummary> sink) {
+        SummaryFolder folder = new SummaryFolder(sink);
+        exportJdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, folder);
+        folder.finish();
+    }
+
+    /**
+     * Folds consecutive (user, role) rows into one summary per user, holding only the current one.
+     */
+    private static final class SummaryFolder implements RowCallbackHandler {
+        private final Consumer<UserSummary> sink;
+        private UserSummary current;
+
+        SummaryFolder(Consumer<UserSummary> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong(1);
+            if (current == null || current.getId() != id) {
+                finish();
+                current = new UserSummary(id, rs.getString(2), rs.getString(3), rs.getBoolean(4), new ArrayList<>());
+            }
+            String role = rs.getString(5);
+            if (role != null) {
+                current.getRoles().add(role);
+            }
+        }
+
+        void finish() {
+            if (current != null) {
+                sink.accept(current);
+                current = null;
+            }
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package org.authx.auth.authentication.repositories;
 
 import org.authx.auth.authentication.models.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    // Loads roles, role permissions and direct permissions in a single statement
+    @EntityGraph(attributePaths = {"roles", "roles.permissions", "permissions"})
+    Optional<User> findWithAuthoritiesByEmail(String email);
 }
@@ -0,0 +1,156 @@
+package org.authx.auth.authentication.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket limits on the OTP and password-reset endpoints, keyed by client IP and by the email
+ * in the request body. Runs ahead of Spring Security and the controllers, so rejected calls are
+ * answered with 429 before any database or hashing work.
+ * <p>
+ * The email is read with the application's {@link JsonMapper}, so escapes and repeated keys resolve to
+ * the value the controller binds (Jackson keeps the last key). It is trimmed and lower-cased because
+ * the database compares emails case-insensitively. Bodies over {@code auth.rate-limit.max-body-bytes}
+ * are answered with 413 without being buffered.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 50)
+@ConditionalOnProperty(name = "auth.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> LIMITED_PATHS = Set.of(
+            "/api/v1/auth/login/request-otp",
+            "/api/v1/auth/login",
+            "/api/v1/auth/password-reset/request",
+            "/api/v1/auth/password-reset/confirm"
+    );
+    private static final String EMAIL_FIELD = "email";
+    private static final byte[] TOO_MANY_REQUESTS_BODY =
+            "{\"status\":429,\"message\":\"Too many requests, please retry later\",\"data\":null}"
+                    .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PAYLOAD_TOO_LARGE_BODY =
+            "{\"status\":413,\"message\":\"Request body too large\",\"data\":null}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private final TokenBucketRateLimiter ipLimiter;
+    private final TokenBucketRateLimiter emailLimiter;
+    private final Counter rejectedByIp;
+    private final Counter rejectedByEmail;
+    private final JsonMapper jsonMapper;
+    private final int maxBodyBytes;
+
+    public AuthRateLimitFilter(@Value("${auth.rate-limit.ip.capacity:30}") int ipCapacity,
+                               @Value("${auth.rate-limit.ip.period:1m}") Duration ipPeriod,
+                               @Value("${auth.rate-limit.email.capacity:5}") int emailCapacity,
+                               @Value("${auth.rate-limit.email.period:5m}") Duration emailPeriod,
+                               @Value("${auth.rate-limit.max-body-bytes:4096}") int maxBodyBytes,
+                               JsonMapper jsonMapper,
+                               MeterRegistry meterRegistry) {
+        this.ipLimiter = new TokenBucketRateLimiter(ipCapacity, ipPeriod);
+        this.emailLimiter = new TokenBucketRateLimiter(emailCapacity, emailPeriod);
+        this.jsonMapper = jsonMapper;
+        this.maxBodyBytes = maxBodyBytes;
+        this.rejectedByIp = Counter.builder("auth.rate_limit.rejected").tag("key", "ip").register(meterRegistry);
+        this.rejectedByEmail = Counter.builder("auth.rate_limit.rejected").tag("key", "email").register(meterRegistry);
+        Gauge.builder("auth.rate_limit.buckets", ipLimiter, TokenBucketRateLimiter::size).tag("key", "ip")
+                .register(meterRegistry);
+        Gauge.builder("auth.rate_limit.buckets", emailLimiter, TokenBucketRateLimiter::size).tag("key", "email")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !LIMITED_PATHS.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getServletPath();
+
+        long wait = ipLimiter.tryAcquire(path + '|' + request.getRemoteAddr());
+        if (wait > 0) {
+            rejectedByIp.increment();
+            reject(response, wait);
+            return;
+        }
+
+        CachedBodyHttpServletRequest cachedRequest = CachedBodyHttpServletRequest.read(request, maxBodyBytes);
+        if (cachedRequest == null) {
+            write(response, HttpStatus.CONTENT_TOO_LARGE, PAYLOAD_TOO_LARGE_BODY);
+            return;
+        }
+        String email = extractEmail(cachedRequest.getBody());
+        if (email != null) {
+            wait = emailLimiter.tryAcquire(path + '|' + email);
+            if (wait > 0) {
+                rejectedByEmail.increment();
+                reject(response, wait);
+                return;
+            }
+        }
+
+        chain.doFilter(cachedRequest, response);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        ipLimiter.evictIdle();
+        emailLimiter.evictIdle();
+    }
+
+    // Malformed JSON or a non-scalar email yields null; the controller rejects those requests itself
+    private String extractEmail(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        JsonNode email;
+        try {
+            email = jsonMapper.readTree(body).get(EMAIL_FIELD);
+        } catch (JacksonException e) {
+            return null;
+        }
+        if (email == null || !email.isValueNode() || email.isNull()) {
+            return null;
+        }
+        return email.asString().trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1)));
+        write(response, HttpStatus.TOO_MANY_REQUESTS, TOO_MANY_REQUESTS_BODY);
+    }
+
+    private static void write(HttpServletResponse response, HttpStatus status, byte[] body) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
@@ -0,0 +1,72 @@
+package org.authx.auth.authentication.security;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable bitset of dense authority ids assigned by {@link AuthorityRegistry}. A principal with a
+ * few dozen authorities fits in one or two {@code long}s, and a check is a shift and a mask.
+ */
+public final class AuthorityBits {
+    public static final AuthorityBits EMPTY = new AuthorityBits(new long[0]);
+
+    private final long[] words;
+
+    private AuthorityBits(long[] words) {
+        this.words = words;
+    }
+
+    public boolean has(int id) {
+        int word = id >>> 6;
+        return id >= 0 && word < words.length && (words[word] & (1L << id)) != 0;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                action.accept((w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof AuthorityBits other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    public static final class Builder {
+        private long[] words = new long[1];
+
+        public Builder set(int id) {
+            int word = id >>> 6;
+            if (word >= words.length) {
+                words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+            }
+            words[word] |= 1L << id;
+            return this;
+        }
+
+        public AuthorityBits build() {
+            int length = words.length;
+            while (length > 0 && words[length - 1] == 0) {
+                length--;
+            }
+            return length == 0 ? EMPTY : new AuthorityBits(Arrays.copyOf(words, length));
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.authx.auth.authentication.security;
+
+/**
+ * Implemented by principals and authentication tokens that carry their authorities as a bitset.
+ * The bits are transient, so {@link #getAuthorityBits()} returns {@code null} on an instance read back
+ * from a serialized session; callers then compare authority names instead.
+ */
+public interface AuthorityBitsHolder {
+    AuthorityBits getAuthorityBits();
+}
@@ -0,0 +1,27 @@
+package org.authx.auth.authentication.security;
+
+import org.authx.auth.authentication.configs.TokenConfig;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.List;
+
+/**
+ * Turns the access token's authorities claim into a bitset once per request, backed by the shared
+ * authority instances of the {@link AuthorityRegistry}.
+ */
+public class AuthorityBitsJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+    private final AuthorityRegistry authorityRegistry;
+
+    public AuthorityBitsJwtAuthenticationConverter(AuthorityRegistry authorityRegistry) {
+        this.authorityRegistry = authorityRegistry;
+    }
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        List<String> names = jwt.getClaimAsStringList(TokenConfig.CLAIM_AUTHORITIES);
+        AuthorityBits bits = names == null ? AuthorityBits.EMPTY : authorityRegistry.bitsOf(names);
+        return new AuthorityBitsJwtAuthenticationToken(jwt, authorityRegistry.authoritiesOf(bits), bits);
+    }
+}
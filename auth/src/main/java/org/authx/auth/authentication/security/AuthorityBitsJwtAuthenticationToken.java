@@ -0,0 +1,23 @@
+package org.authx.auth.authentication.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.Collection;
+
+public class AuthorityBitsJwtAuthenticationToken extends JwtAuthenticationToken implements AuthorityBitsHolder {
+    // Process-local ids; after deserialization checks fall back to the granted authority names
+    private final transient AuthorityBits authorityBits;
+
+    public AuthorityBitsJwtAuthenticationToken(Jwt jwt, Collection<? extends GrantedAuthority> authorities,
+                                               AuthorityBits authorityBits) {
+        super(jwt, authorities, jwt.getSubject());
+        this.authorityBits = authorityBits;
+    }
+
+    @Override
+    public AuthorityBits getAuthorityBits() {
+        return authorityBits;
+    }
+}
@@ -0,0 +1,71 @@
+package org.authx.auth.authentication.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authority checks against the principal's bitset, used by {@link RequiresPermission}.
+ * Falls back to comparing authority strings for authentications that carry no bitset.
+ */
+@Component
+public class AuthorityChecks {
+    private final AuthorityRegistry authorityRegistry;
+
+    public AuthorityChecks(AuthorityRegistry authorityRegistry) {
+        this.authorityRegistry = authorityRegistry;
+    }
+
+    public boolean has(Authentication authentication, String authority) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        AuthorityBits bits = bitsOf(authentication);
+        return bits != null ? bits.has(authorityRegistry.lookup(authority)) : hasString(authentication, authority);
+    }
+
+    /**
+     * @param ids   authority ids from {@link #idsOf}, tested against the bitset
+     * @param names the same authorities by name, for authentications without a bitset
+     */
+    public boolean hasAll(Authentication authentication, int[] ids, String[] names) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        AuthorityBits bits = bitsOf(authentication);
+        for (int i = 0; i < ids.length; i++) {
+            boolean granted = bits != null ? bits.has(ids[i]) : hasString(authentication, names[i]);
+            if (!granted) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int[] idsOf(String[] names) {
+        int[] ids = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            ids[i] = authorityRegistry.idOf(names[i]);
+        }
+        return ids;
+    }
+
+    private static boolean hasString(Authentication authentication, String authority) {
+        for (GrantedAuthority granted : authentication.getAuthorities()) {
+            if (authority.equals(granted.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static AuthorityBits bitsOf(Authentication authentication) {
+        if (authentication instanceof AuthorityBitsHolder holder) {
+            return holder.getAuthorityBits();
+        }
+        if (authentication.getPrincipal() instanceof AuthorityBitsHolder holder) {
+            return holder.getAuthorityBits();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+package org.authx.auth.authentication.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns a dense integer id to every role and permission name. The seeded catalog is registered at
+ * startup in sorted order; names seen later (new permissions, token claims) get the next free id.
+ * Ids are process-local and never persisted. One shared {@link GrantedAuthority} instance exists
+ * per name, so principals do not allocate their own.
+ */
+@Component
+public class AuthorityRegistry {
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile GrantedAuthority[] authorities = new GrantedAuthority[64];
+
+    public void registerAll(Collection<String> names) {
+        names.stream().sorted().forEach(this::idOf);
+    }
+
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : register(name);
+    }
+
+    /**
+     * @return the id for the name, or -1 if it was never registered (nobody can hold it)
+     */
+    public int lookup(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : -1;
+    }
+
+    public GrantedAuthority authority(int id) {
+        return authorities[id];
+    }
+
+    public AuthorityBits bitsOf(Collection<String> names) {
+        AuthorityBits.Builder builder = new AuthorityBits.Builder();
+        for (String name : names) {
+            builder.set(idOf(name));
+        }
+        return builder.build();
+    }
+
+    public List<GrantedAuthority> authoritiesOf(AuthorityBits bits) {
+        List<GrantedAuthority> result = new ArrayList<>(bits.cardinality());
+        GrantedAuthority[] snapshot = authorities;
+        bits.forEach(id -> result.add(snapshot[id]));
+        return result;
+    }
+
+    private synchronized int register(String name) {
+        Integer existing = ids.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        int id = ids.size();
+        GrantedAuthority[] current = authorities;
+        if (id >= current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[id] = new SimpleGrantedAuthority(name);
+        // Publish the array before the id so readers that see the id also see the authority
+        authorities = current;
+        ids.put(name, id);
+        return id;
+    }
+}
@@ -0,0 +1,51 @@
+package org.authx.auth.authentication.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Picks the highest BCrypt work factor whose median hash time on this host stays within a target.
+ * Each extra round doubles the cost, so the search stops at the first strength that overshoots.
+ */
+public final class BCryptStrengthCalibrator {
+    private static final Logger log = LoggerFactory.getLogger(BCryptStrengthCalibrator.class);
+    private static final String SAMPLE_PASSWORD = "calibration-Sample#2024";
+    private static final int SAMPLES = 5;
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        // Warm up the JIT so the first measurement is not dominated by interpretation
+        new BCryptPasswordEncoder(4).encode(SAMPLE_PASSWORD);
+
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            long medianNanos = medianHashNanos(strength);
+            log.debug("BCrypt strength {} median {} ms", strength, medianNanos / 1_000_000);
+            if (medianNanos > targetLatency.toNanos()) {
+                break;
+            }
+            chosen = strength;
+        }
+        log.info("BCrypt strength calibrated to {} for a target of {} ms; set auth.password.bcrypt.strength={} to skip calibration",
+                chosen, targetLatency.toMillis(), chosen);
+        return chosen;
+    }
+
+    private static long medianHashNanos(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
@@ -0,0 +1,103 @@
+package org.authx.auth.authentication.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.authx.auth.authentication.services.UserCredentialsChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Wraps the DAO provider and remembers successfully verified username/password pairs for a short
+ * TTL, so repeated HTTP Basic calls skip the BCrypt check. Entries are keyed by username and hold an
+ * HMAC of the credentials under a per-process random key; raw passwords are never stored. Keying by
+ * username keeps one entry per user and makes eviction on {@link UserCredentialsChangedEvent} a
+ * single lookup.
+ */
+public class CachedCredentialAuthenticationProvider implements AuthenticationProvider {
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final AuthenticationProvider delegate;
+    private final SecretKeySpec hmacKey;
+    private final Cache<String, VerifiedCredential> cache;
+
+    public CachedCredentialAuthenticationProvider(AuthenticationProvider delegate,
+                                                  Duration ttl,
+                                                  long maximumSize,
+                                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.hmacKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "basicAuthCredentials");
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+
+        String username = authentication.getName();
+        byte[] digest = credentialDigest(username, password);
+        VerifiedCredential cached = cache.getIfPresent(username);
+        if (cached != null && MessageDigest.isEqual(cached.digest(), digest)) {
+            UsernamePasswordAuthenticationToken result =
+                    UsernamePasswordAuthenticationToken.authenticated(cached.principal(), null, cached.authorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            cache.put(username, new VerifiedCredential(digest, result.getPrincipal(), result.getAuthorities()));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    @EventListener
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        cache.invalidate(event.email());
+    }
+
+    private byte[] credentialDigest(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private record VerifiedCredential(byte[] digest,
+                                      Object principal,
+                                      Collection<? extends GrantedAuthority> authorities) {
+    }
+}
@@ -0,0 +1,44 @@
+package org.authx.auth.authentication.security;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Answers 503 with {@code Retry-After} when authentication failed only because the hashing pool was
+ * saturated, matching what {@code GlobalExceptionHandler} returns for the JSON login endpoints. Every
+ * other failure goes to the delegate.
+ */
+public class HashingAwareAuthenticationEntryPoint implements AuthenticationEntryPoint {
+    private static final byte[] SERVICE_UNAVAILABLE_BODY =
+            "{\"status\":503,\"message\":\"Server is busy, please retry shortly\",\"data\":null}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private final AuthenticationEntryPoint delegate;
+
+    public HashingAwareAuthenticationEntryPoint(AuthenticationEntryPoint delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response,
+                         AuthenticationException authException) throws IOException, ServletException {
+        if (!(authException instanceof PasswordHashingRejectedException)) {
+            delegate.commence(request, response, authException);
+            return;
+        }
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(SERVICE_UNAVAILABLE_BODY.length);
+        response.getOutputStream().write(SERVICE_UNAVAILABLE_BODY);
+    }
+}
@@ -0,0 +1,14 @@
+package org.authx.auth.authentication.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Thrown when the password hashing executor is saturated and cannot accept more work. It is an
+ * {@link AuthenticationServiceException} so that {@code matches()} calls made by an authentication
+ * provider reach the entry point instead of escaping the filter chain as a 500.
+ */
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
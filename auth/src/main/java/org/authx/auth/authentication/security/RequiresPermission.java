@@ -0,0 +1,19 @@
+package org.authx.auth.authentication.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requires the caller to hold every listed authority. Checked by
+ * {@link RequiresPermissionAuthorizationManager} against the principal's authority bitset, without
+ * any expression evaluation. A method-level annotation overrides one on the class.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresPermission {
+    String[] value();
+}
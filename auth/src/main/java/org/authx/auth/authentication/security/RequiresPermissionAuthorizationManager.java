@@ -0,0 +1,122 @@
+package org.authx.auth.authentication.security;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.Pointcuts;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Authorizes {@link RequiresPermission} methods. Every annotated method of every bean type is resolved
+ * into authority ids once all singletons exist, so a malformed annotation fails startup rather than
+ * the first request; each call is then a map lookup plus one bit test per required id.
+ */
+public class RequiresPermissionAuthorizationManager implements SmartInitializingSingleton, BeanFactoryAware {
+    private final Supplier<AuthorityChecks> authorityChecks;
+    private final Map<Method, Requirement> requirements = new ConcurrentHashMap<>();
+    private ListableBeanFactory beanFactory;
+
+    public RequiresPermissionAuthorizationManager(Supplier<AuthorityChecks> authorityChecks) {
+        this.authorityChecks = authorityChecks;
+    }
+
+    public AuthorizationManagerBeforeMethodInterceptor interceptor() {
+        Pointcut pointcut = Pointcuts.union(
+                new AnnotationMatchingPointcut(null, RequiresPermission.class, true),
+                new AnnotationMatchingPointcut(RequiresPermission.class, true));
+        AuthorizationManager<MethodInvocation> authorizationManager =
+                (authentication, invocation) -> decide(authentication.get(), invocation);
+        return new AuthorizationManagerBeforeMethodInterceptor(pointcut, authorizationManager);
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        if (beanFactory instanceof ListableBeanFactory listable) {
+            this.beanFactory = listable;
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (beanFactory == null) {
+            return;
+        }
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            Class<?> type = beanFactory.getType(name, false);
+            if (type != null) {
+                register(ClassUtils.getUserClass(type));
+            }
+        }
+    }
+
+    /**
+     * Resolves every {@link RequiresPermission} method of the type, including the interface methods a
+     * JDK proxy would report.
+     *
+     * @throws IllegalStateException if an annotation names no authority
+     */
+    public void register(Class<?> type) {
+        if (!AnnotationUtils.isCandidateClass(type, RequiresPermission.class)) {
+            return;
+        }
+        RequiresPermission onClass = AnnotatedElementUtils.findMergedAnnotation(type, RequiresPermission.class);
+        ReflectionUtils.doWithMethods(type, method -> {
+            RequiresPermission annotation = AnnotatedElementUtils.findMergedAnnotation(method, RequiresPermission.class);
+            if (annotation == null) {
+                annotation = onClass;
+            }
+            if (annotation != null) {
+                requirements.putIfAbsent(method, requirement(method, annotation.value()));
+            }
+        }, ReflectionUtils.USER_DECLARED_METHODS);
+
+        for (Class<?> contract : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+            for (Method method : contract.getMethods()) {
+                Requirement required = requirements.get(ClassUtils.getMostSpecificMethod(method, type));
+                if (required != null) {
+                    requirements.putIfAbsent(method, required);
+                }
+            }
+        }
+    }
+
+    public AuthorizationDecision decide(Authentication authentication, MethodInvocation invocation) {
+        Requirement required = requirements.get(invocation.getMethod());
+        if (required == null) {
+            // Matched by the pointcut but never registered: a bean type the startup scan could not see
+            throw new IllegalStateException("@RequiresPermission on " + invocation.getMethod() + " was not resolved at startup");
+        }
+        return new AuthorizationDecision(authorityChecks.get().hasAll(authentication, required.ids(), required.names()));
+    }
+
+    private Requirement requirement(Method method, String[] names) {
+        if (names.length == 0) {
+            throw new IllegalStateException("@RequiresPermission on " + method + " names no authority");
+        }
+        for (String name : names) {
+            if (name == null || name.isBlank()) {
+                throw new IllegalStateException("@RequiresPermission on " + method + " has a blank authority");
+            }
+        }
+        return new Requirement(authorityChecks.get().idsOf(names), names.clone());
+    }
+
+    private record Requirement(int[] ids, String[] names) {
+    }
+}
@@ -0,0 +1,68 @@
+package org.authx.auth.authentication.security;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket per key, implemented as GCRA: each bucket is a single {@code long}
+ * "theoretical arrival time" updated with CAS, so an admitted or rejected request allocates nothing
+ * once its bucket exists. A bucket whose arrival time is in the past is full and therefore identical
+ * to a fresh one, which makes idle eviction lossless.
+ */
+public class TokenBucketRateLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+
+    /**
+     * @param capacity tokens available in a burst
+     * @param period   time to refill {@code capacity} tokens
+     */
+    public TokenBucketRateLimiter(int capacity, Duration period) {
+        this(capacity, period, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, Duration period, LongSupplier nanoClock) {
+        this.emissionIntervalNanos = period.toNanos() / capacity;
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return 0 if the request is admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long tat = bucket.get();
+            long base = tat - now > 0 ? tat : now;
+            long wait = base - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have fully refilled.
+     */
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,55 @@
+package org.authx.auth.authentication.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-stage timers for the authentication pipeline. Data-access stages are recorded under
+ * {@code auth.stage.db} and password hashing under {@code auth.stage.hash}, so each gets histogram
+ * buckets for its own latency range (see {@code management.metrics.distribution.slo.*}).
+ * Flow-level results are counted under {@code auth.flow.outcomes}.
+ */
+@Component
+public class AuthMetrics {
+    public static final String SUCCESS = "success";
+    public static final String NOT_FOUND = "not_found";
+    public static final String BAD_CREDENTIALS = "bad_credentials";
+    public static final String INVALID_OTP = "invalid_otp";
+    public static final String EXPIRED_OTP = "expired_otp";
+    public static final String INVALID_REQUEST = "invalid_request";
+
+    private final Meter.MeterProvider<Timer> dbTimers;
+    private final Meter.MeterProvider<Timer> hashTimers;
+    private final Meter.MeterProvider<Counter> outcomes;
+
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        this.dbTimers = Timer.builder("auth.stage.db")
+                .description("Database stages of the authentication pipeline")
+                .withRegistry(meterRegistry);
+        this.hashTimers = Timer.builder("auth.stage.hash")
+                .description("Password hashing and verification, including executor queue time")
+                .withRegistry(meterRegistry);
+        this.outcomes = Counter.builder("auth.flow.outcomes")
+                .description("Results of authentication and admin flows")
+                .withRegistry(meterRegistry);
+    }
+
+    public void recordDb(String stage, long startNanos, String outcome) {
+        dbTimers.withTags("stage", stage, "outcome", outcome)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordHash(String stage, long startNanos, String outcome) {
+        hashTimers.withTags("stage", stage, "outcome", outcome)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void count(String flow, String outcome) {
+        outcomes.withTags("flow", flow, "outcome", outcome).increment();
+    }
+}
@@ -8,44 +8,82 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
 @Service
 public class AuthenticationService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final OtpService otpService;
+    private final CustomUserDetailsService userDetailsService;
+    private final AuthMetrics metrics;
 
     public AuthenticationService(UserRepository userRepository, 
                                  PasswordEncoder passwordEncoder,
-                                 OtpService otpService) {
+                                 OtpService otpService,
+                                 CustomUserDetailsService userDetailsService,
+                                 AuthMetrics metrics) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.otpService = otpService;
+        this.userDetailsService = userDetailsService;
+        this.metrics = metrics;
     }
 
     @Transactional
     public User register(RegisterRequest request) {
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
+        long start = System.nanoTime();
+        boolean exists = userRepository.findByEmail(request.getEmail()).isPresent();
+        metrics.recordDb("user.lookup", start, exists ? AuthMetrics.SUCCESS : AuthMetrics.NOT_FOUND);
+        if (exists) {
+            metrics.count("register", AuthMetrics.INVALID_REQUEST);
             throw new IllegalArgumentException("Email already exists");
         }
 
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
+        start = System.nanoTime();
         user.setPassword(passwordEncoder.encode(request.getPassword()));
+        metrics.recordHash("password.hash", start, AuthMetrics.SUCCESS);
         user.setEnabled(true);
 
-        return userRepository.save(user);
+        start = System.nanoTime();
+        User saved = userRepository.save(user);
+        metrics.recordDb("user.save", start, AuthMetrics.SUCCESS);
+        metrics.count("register", AuthMetrics.SUCCESS);
+        return saved;
     }
 
     public void requestLoginOtp(String email, String password) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid email or password"));
-        
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        long start = System.nanoTime();
+        Optional<User> found = userRepository.findByEmail(email);
+        metrics.recordDb("user.lookup", start, found.isPresent() ? AuthMetrics.SUCCESS : AuthMetrics.NOT_FOUND);
+        if (found.isEmpty()) {
+            metrics.count("login.request_otp", AuthMetrics.BAD_CREDENTIALS);
+            throw new IllegalArgumentException("Invalid email or password");
+        }
+        User user = found.get();
+
+        start = System.nanoTime();
+        boolean matches = passwordEncoder.matches(password, user.getPassword());
+        metrics.recordHash("password.verify", start, matches ? AuthMetrics.SUCCESS : AuthMetrics.BAD_CREDENTIALS);
+        if (!matches) {
+            metrics.count("login.request_otp", AuthMetrics.BAD_CREDENTIALS);
             throw new IllegalArgumentException("Invalid email or password");
         }
+
+        // Re-hash with the current algorithm/cost while the raw password is at hand
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            start = System.nanoTime();
+            user.setPassword(passwordEncoder.encode(password));
+            metrics.recordHash("password.rehash", start, AuthMetrics.SUCCESS);
+            userRepository.save(user);
+            userDetailsService.evictUser(email);
+        }
         
         otpService.createAndSaveOtp(email, Otp.OtpType.LOGIN);
+        metrics.count("login.request_otp", AuthMetrics.SUCCESS);
     }
     
     @Deprecated
@@ -61,23 +99,38 @@ public class AuthenticationService {
     }
 
     public void requestPasswordResetOtp(String email) {
-        if (userRepository.findByEmail(email).isEmpty()) {
+        long start = System.nanoTime();
+        boolean exists = userRepository.findByEmail(email).isPresent();
+        metrics.recordDb("user.lookup", start, exists ? AuthMetrics.SUCCESS : AuthMetrics.NOT_FOUND);
+        if (!exists) {
+            metrics.count("password_reset.request_otp", AuthMetrics.NOT_FOUND);
             throw new IllegalArgumentException("User not found with email: " + email);
         }
         otpService.createAndSaveOtp(email, Otp.OtpType.PASSWORD_RESET);
+        metrics.count("password_reset.request_otp", AuthMetrics.SUCCESS);
     }
 
+    // The OTP check itself is counted under "password_reset" by OtpService.validateOtp
     @Transactional
     public void resetPassword(String email, String otp, String newPassword) {
         if (!otpService.validateOtp(email, otp, Otp.OtpType.PASSWORD_RESET)) {
             throw new IllegalArgumentException("Invalid or expired OTP");
         }
 
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        
+        long start = System.nanoTime();
+        Optional<User> found = userRepository.findByEmail(email);
+        metrics.recordDb("user.lookup", start, found.isPresent() ? AuthMetrics.SUCCESS : AuthMetrics.NOT_FOUND);
+        User user = found.orElseThrow(() -> new IllegalArgumentException("User not found"));
+
+        start = System.nanoTime();
         user.setPassword(passwordEncoder.encode(newPassword));
+        metrics.recordHash("password.hash", start, AuthMetrics.SUCCESS);
+        // Sessions started with the old password can no longer be extended
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        start = System.nanoTime();
         userRepository.save(user);
+        metrics.recordDb("user.save", start, AuthMetrics.SUCCESS);
+        userDetailsService.evictUser(email);
     }
 
     public User getUserByEmail(String email) {
@@ -0,0 +1,157 @@
+package org.authx.auth.authentication.services;
+
+import org.authx.auth.authentication.models.Permission;
+import org.authx.auth.authentication.models.Role;
+import org.authx.auth.authentication.repositories.PermissionRepository;
+import org.authx.auth.authentication.repositories.RoleRepository;
+import org.authx.auth.authentication.security.AuthorityRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable in-memory snapshot of the role/permission catalog, so resolving a known name never queries
+ * the database. The snapshot is rebuilt with two queries on {@link #refresh()} (after seeding, every
+ * {@code auth.catalog.refresh-interval-ms}, and once when a lookup misses, so rows added outside this
+ * instance are picked up before the request is rejected) and swapped atomically; the version only moves
+ * when the content actually changed. Refreshes are serialised with a {@link ReentrantLock} rather than
+ * {@code synchronized}, so a virtual thread waiting on the database inside it does not pin its carrier.
+ * <p>
+ * Resolved {@link Role}/{@link Permission} objects are fresh detached copies carrying the database
+ * id, which is all Hibernate needs to write join-table rows.
+ */
+@Service
+public class AuthorityCatalog {
+    private static final Logger log = LoggerFactory.getLogger(AuthorityCatalog.class);
+
+    private final RoleRepository roleRepository;
+    private final PermissionRepository permissionRepository;
+    private final AuthorityRegistry authorityRegistry;
+    private final AuthMetrics metrics;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.EMPTY);
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    public AuthorityCatalog(RoleRepository roleRepository,
+                            PermissionRepository permissionRepository,
+                            AuthorityRegistry authorityRegistry,
+                            AuthMetrics metrics) {
+        this.roleRepository = roleRepository;
+        this.permissionRepository = permissionRepository;
+        this.authorityRegistry = authorityRegistry;
+        this.metrics = metrics;
+    }
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        // Requests that arrive before seeding has finished load the catalog themselves
+        return snapshot.version() == 0 ? refresh() : snapshot;
+    }
+
+    /**
+     * The current snapshot, reloaded once if it does not satisfy {@code complete}. The caller still
+     * has to check the result: names that are not in the database stay missing.
+     */
+    public Snapshot snapshot(Predicate<Snapshot> complete) {
+        Snapshot snapshot = snapshot();
+        return complete.test(snapshot) ? snapshot : refresh();
+    }
+
+    public Role role(String name) {
+        RoleEntry entry = snapshot(s -> s.roles().containsKey(name)).roles().get(name);
+        if (entry == null) {
+            throw new IllegalArgumentException("Role not found: " + name);
+        }
+        return entry.toRole();
+    }
+
+    public Permission permission(String name) {
+        PermissionEntry entry = snapshot(s -> s.permissions().containsKey(name)).permissions().get(name);
+        if (entry == null) {
+            throw new IllegalArgumentException("Permission not found: " + name);
+        }
+        return entry.toPermission();
+    }
+
+    @Scheduled(initialDelayString = "${auth.catalog.refresh-interval-ms:60000}",
+            fixedDelayString = "${auth.catalog.refresh-interval-ms:60000}")
+    public Snapshot refresh() {
+        refreshLock.lock();
+        long start = System.nanoTime();
+        try {
+            Map<String, PermissionEntry> permissions = permissionRepository.findAll().stream()
+                    .map(PermissionEntry::of)
+                    .collect(Collectors.toUnmodifiableMap(PermissionEntry::name, Function.identity()));
+            Map<String, RoleEntry> roles = roleRepository.findAllWithPermissions().stream()
+                    .map(RoleEntry::of)
+                    .collect(Collectors.toUnmodifiableMap(RoleEntry::name, Function.identity()));
+
+            metrics.recordDb("authority.catalog.load", start, AuthMetrics.SUCCESS);
+
+            Snapshot previous = current.get();
+            if (previous.version() > 0 && previous.permissions().equals(permissions) && previous.roles().equals(roles)) {
+                return previous;
+            }
+
+            Set<String> names = new HashSet<>(permissions.keySet());
+            names.addAll(roles.keySet());
+            authorityRegistry.registerAll(names);
+
+            Snapshot next = new Snapshot(previous.version() + 1, roles, permissions);
+            current.set(next);
+            log.info("Authority catalog v{}: {} roles, {} permissions", next.version(), roles.size(), permissions.size());
+            return next;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    public record Snapshot(long version, Map<String, RoleEntry> roles, Map<String, PermissionEntry> permissions) {
+        static final Snapshot EMPTY = new Snapshot(0, Map.of(), Map.of());
+    }
+
+    public record PermissionEntry(long id, String name, String description) {
+        static PermissionEntry of(Permission permission) {
+            return new PermissionEntry(permission.getId(), permission.getName(), permission.getDescription());
+        }
+
+        Permission toPermission() {
+            Permission permission = new Permission();
+            permission.setId(id);
+            permission.setName(name);
+            permission.setDescription(description);
+            return permission;
+        }
+    }
+
+    public record RoleEntry(long id, String name, List<PermissionEntry> permissions) {
+        static RoleEntry of(Role role) {
+            List<PermissionEntry> permissions = new ArrayList<>();
+            role.getPermissions().forEach(permission -> permissions.add(PermissionEntry.of(permission)));
+            permissions.sort(Comparator.comparing(PermissionEntry::name));
+            return new RoleEntry(role.getId(), role.getName(), List.copyOf(permissions));
+        }
+
+        Role toRole() {
+            Role role = new Role();
+            role.setId(id);
+            role.setName(name);
+            Set<Permission> copies = new HashSet<>();
+            permissions.forEach(permission -> copies.add(permission.toPermission()));
+            role.setPermissions(copies);
+            return role;
+        }
+    }
+}
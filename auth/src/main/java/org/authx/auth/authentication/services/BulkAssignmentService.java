@@ -0,0 +1,147 @@
+package org.authx.auth.authentication.services;
+
+import org.authx.auth.authentication.dtos.BulkUpdateResponse;
+import org.authx.auth.authentication.dtos.BulkUpdateUserPermissionsRequest;
+import org.authx.auth.authentication.dtos.BulkUpdateUserRolesRequest;
+import org.authx.auth.authentication.repositories.UserAuthorityJdbcRepository;
+import org.authx.auth.authentication.repositories.UserAuthorityJdbcRepository.JoinTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Replaces role or permission assignments for many users at once. Input is validated up front
+ * (names against the {@link AuthorityCatalog}, user ids with one IN query per chunk), then applied
+ * in transactions of at most {@code auth.admin.bulk.users-per-transaction} users: delete the users'
+ * rows, batch-insert the new ones in (user_id, authority_id) order. A failure mid-way leaves
+ * earlier chunks committed.
+ */
+@Service
+public class BulkAssignmentService {
+    private final AuthorityCatalog authorityCatalog;
+    private final UserAuthorityJdbcRepository userAuthorityRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final TransactionTemplate transactionTemplate;
+    private final AuthMetrics metrics;
+    private final int usersPerTransaction;
+    private final int jdbcBatchSize;
+
+    public BulkAssignmentService(AuthorityCatalog authorityCatalog,
+                                 UserAuthorityJdbcRepository userAuthorityRepository,
+                                 CustomUserDetailsService userDetailsService,
+                                 PlatformTransactionManager transactionManager,
+                                 AuthMetrics metrics,
+                                 @Value("${auth.admin.bulk.users-per-transaction:500}") int usersPerTransaction,
+                                 @Value("${auth.admin.bulk.jdbc-batch-size:1000}") int jdbcBatchSize) {
+        this.authorityCatalog = authorityCatalog;
+        this.userAuthorityRepository = userAuthorityRepository;
+        this.userDetailsService = userDetailsService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metrics = metrics;
+        this.usersPerTransaction = usersPerTransaction;
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    public BulkUpdateResponse updateRoles(BulkUpdateUserRolesRequest request) {
+        // Sorted by user id; a user listed twice keeps its last assignment
+        SortedMap<Long, Set<String>> namesByUser = new TreeMap<>();
+        for (BulkUpdateUserRolesRequest.Assignment assignment : request.getAssignments()) {
+            namesByUser.put(assignment.getUserId(), assignment.getRoles());
+        }
+
+        long start = System.nanoTime();
+        Set<String> names = distinctNames(namesByUser);
+        Map<String, Long> ids = new HashMap<>();
+        authorityCatalog.snapshot(s -> s.roles().keySet().containsAll(names))
+                .roles().forEach((name, role) -> ids.put(name, role.id()));
+        metrics.recordDb("authority.resolve", start,
+                ids.keySet().containsAll(names) ? AuthMetrics.SUCCESS : AuthMetrics.NOT_FOUND);
+
+        return apply(JoinTable.USER_ROLES, namesByUser, ids, "Role", "admin.roles.bulk_update");
+    }
+
+    public BulkUpdateResponse updatePermissions(BulkUpdateUserPermissionsRequest request) {
+        SortedMap<Long, Set<String>> namesByUser = new TreeMap<>();
+        for (BulkUpdateUserPermissionsRequest.Assignment assignment : request.getAssignments()) {
+            namesByUser.put(assignment.getUserId(),
+                    assignment.getPermissions() == null ? Set.of() : assignment.getPermissions());
+        }
+
+        long start = System.nanoTime();
+        Set<String> names = distinctNames(namesByUser);
+        Map<String, Long> ids = new HashMap<>();
+        authorityCatalog.snapshot(s -> s.permissions().keySet().containsAll(names))
+                .permissions().forEach((name, permission) -> ids.put(name, permission.id()));
+        metrics.recordDb("authority.resolve", start,
+                ids.keySet().containsAll(names) ? AuthMetrics.SUCCESS : AuthMetrics.NOT_FOUND);
+
+        return apply(JoinTable.USER_PERMISSIONS, namesByUser, ids, "Permission", "admin.permissions.bulk_update");
+    }
+
+    private BulkUpdateResponse apply(JoinTable table, SortedMap<Long, Set<String>> namesByUser,
+                                     Map<String, Long> ids, String kind, String flow) {
+        for (Set<String> names : namesByUser.values()) {
+            for (String name : names) {
+                if (!ids.containsKey(name)) {
+                    metrics.count(flow, AuthMetrics.INVALID_REQUEST);
+                    throw new IllegalArgumentException(kind + " not found: " + name);
+                }
+            }
+        }
+
+        List<Long> userIds = new ArrayList<>(namesByUser.keySet());
+        Map<Long, String> emails = new HashMap<>();
+        for (int from = 0; from < userIds.size(); from += usersPerTransaction) {
+            emails.putAll(userAuthorityRepository.findEmailsByIds(
+                    userIds.subList(from, Math.min(from + usersPerTransaction, userIds.size()))));
+        }
+        for (Long userId : userIds) {
+            if (!emails.containsKey(userId)) {
+                metrics.count(flow, AuthMetrics.NOT_FOUND);
+                throw new IllegalArgumentException("User not found: " + userId);
+            }
+        }
+
+        int rows = 0;
+        int transactions = 0;
+        for (int from = 0; from < userIds.size(); from += usersPerTransaction) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + usersPerTransaction, userIds.size()));
+            List<long[]> chunkRows = new ArrayList<>();
+            for (Long userId : chunk) {
+                for (long authorityId : namesByUser.get(userId).stream().mapToLong(ids::get).distinct().sorted().toArray()) {
+                    chunkRows.add(new long[]{userId, authorityId});
+                }
+            }
+
+            long start = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> {
+                userAuthorityRepository.deleteForUsers(table, chunk);
+                userAuthorityRepository.insert(table, chunkRows, jdbcBatchSize);
+                // Registered as after-commit evictions by the details service
+                chunk.forEach(userId -> userDetailsService.evictUser(emails.get(userId)));
+            });
+            metrics.recordDb("bulk.chunk", start, AuthMetrics.SUCCESS);
+            rows += chunkRows.size();
+            transactions++;
+        }
+
+        metrics.count(flow, AuthMetrics.SUCCESS);
+        return new BulkUpdateResponse(userIds.size(), rows, transactions);
+    }
+
+    private static Set<String> distinctNames(Map<Long, Set<String>> namesByUser) {
+        Set<String> names = new HashSet<>();
+        namesByUser.values().forEach(names::addAll);
+        return names;
+    }
+}
@@ -1,26 +1,78 @@
 package org.authx.auth.authentication.services;
 
+import org.authx.auth.authentication.configs.CacheConfig;
 import org.authx.auth.authentication.models.CustomUserDetails;
 import org.authx.auth.authentication.models.User;
 import org.authx.auth.authentication.repositories.UserRepository;
+import org.authx.auth.authentication.security.AuthorityRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepo;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuthorityRegistry authorityRegistry;
+    private final AuthMetrics metrics;
 
-    public CustomUserDetailsService(UserRepository userRepo) {
+    public CustomUserDetailsService(UserRepository userRepo, CacheManager cacheManager,
+                                    ApplicationEventPublisher eventPublisher,
+                                    AuthorityRegistry authorityRegistry,
+                                    AuthMetrics metrics) {
         this.userRepo = userRepo;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.authorityRegistry = authorityRegistry;
+        this.metrics = metrics;
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.USER_DETAILS_CACHE, key = "#email")
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepo.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
-        return new CustomUserDetails(user);
+        // Only cache misses get here, so this timer measures the authority-graph query itself
+        long start = System.nanoTime();
+        User user = userRepo.findWithAuthoritiesByEmail(email).orElse(null);
+        metrics.recordDb("user.details.load", start, user != null ? AuthMetrics.SUCCESS : AuthMetrics.NOT_FOUND);
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found: " + email);
+        }
+        return new CustomUserDetails(user, authorityRegistry);
+    }
+
+    /**
+     * Drops the cached details for the given email and notifies other credential caches. When called
+     * inside a transaction this happens again after commit so a concurrent load cannot re-cache the
+     * pre-commit state.
+     */
+    public void evictUser(String email) {
+        if (email == null) {
+            return;
+        }
+        evictNow(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(email);
+                }
+            });
+        }
     }
-}
 
+    private void evictNow(String email) {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE);
+        if (cache != null) {
+            cache.evict(email);
+        }
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(email));
+    }
+}
@@ -0,0 +1,10 @@
+package org.authx.auth.authentication.services;
+
+/**
+ * Thrown when every export slot is taken; mapped to 503 with Retry-After.
+ */
+public class ExportRejectedException extends RuntimeException {
+    public ExportRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,45 @@
+package org.authx.auth.authentication.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Local stand-in for a mail gateway: appends one "email,type,code" line per message to a file
+@Component
+@ConditionalOnProperty(name = "auth.otp.delivery.sender", havingValue = "file")
+public class FileOtpSender implements OtpSender {
+    private final Path outbox;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public FileOtpSender(@Value("${auth.otp.delivery.file:target/otp-outbox.txt}") Path outbox) {
+        this.outbox = outbox;
+    }
+
+    @Override
+    public void send(List<OtpMessage> messages) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (OtpMessage message : messages) {
+            lines.append(message.email()).append(',')
+                    .append(message.type()).append(',')
+                    .append(message.code()).append(System.lineSeparator());
+        }
+        lock.lock();
+        try {
+            if (outbox.getParent() != null) {
+                Files.createDirectories(outbox.getParent());
+            }
+            Files.writeString(outbox, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
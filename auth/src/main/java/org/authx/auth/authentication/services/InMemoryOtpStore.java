@@ -0,0 +1,89 @@
+package org.authx.auth.authentication.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import org.authx.auth.authentication.models.Otp;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps OTPs in process memory, keyed by (email, type). Backed by Caffeine's concurrent hash map,
+ * with per-entry expiry driven by its hierarchical timer wheel and a scheduler thread, so expired
+ * codes are dropped without periodic full scans. Codes do not survive restarts and are not shared
+ * between instances.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.otp.store", havingValue = "memory")
+public class InMemoryOtpStore implements OtpStore {
+
+    private final Cache<OtpKey, StoredOtp> codes;
+
+    public InMemoryOtpStore(@Value("${auth.otp.memory.max-size:1000000}") long maximumSize) {
+        this.codes = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new OtpExpiry())
+                .scheduler(Scheduler.systemScheduler())
+                .build();
+    }
+
+    @Override
+    public void save(String email, Otp.OtpType type, String code, LocalDateTime expiresAt) {
+        // Replacing the entry invalidates any previously issued code for the pair
+        codes.put(new OtpKey(email, type), new StoredOtp(code, expiresAt));
+    }
+
+    @Override
+    public ConsumeResult consume(String email, Otp.OtpType type, String code) {
+        OtpKey key = new OtpKey(email, type);
+        StoredOtp stored = codes.getIfPresent(key);
+        if (stored == null) {
+            return ConsumeResult.EXPIRED;
+        }
+        if (!MessageDigest.isEqual(
+                stored.code().getBytes(StandardCharsets.US_ASCII), code.getBytes(StandardCharsets.US_ASCII))) {
+            return ConsumeResult.MISMATCH;
+        }
+        // Conditional remove: only one concurrent caller can win for this exact entry
+        return codes.asMap().remove(key, stored) ? ConsumeResult.CONSUMED : ConsumeResult.EXPIRED;
+    }
+
+    @Override
+    public void purgeExpired() {
+        codes.cleanUp();
+    }
+
+    private record OtpKey(String email, Otp.OtpType type) {
+    }
+
+    private record StoredOtp(String code, LocalDateTime expiresAt) {
+    }
+
+    private static final class OtpExpiry implements Expiry<OtpKey, StoredOtp> {
+        @Override
+        public long expireAfterCreate(OtpKey key, StoredOtp value, long currentTime) {
+            return nanosUntil(value.expiresAt());
+        }
+
+        @Override
+        public long expireAfterUpdate(OtpKey key, StoredOtp value, long currentTime, long currentDuration) {
+            return nanosUntil(value.expiresAt());
+        }
+
+        @Override
+        public long expireAfterRead(OtpKey key, StoredOtp value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private static long nanosUntil(LocalDateTime expiresAt) {
+            return Math.max(0, Duration.between(LocalDateTime.now(), expiresAt).toNanos());
+        }
+    }
+}
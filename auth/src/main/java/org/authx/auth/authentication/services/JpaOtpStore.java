@@ -0,0 +1,81 @@
+package org.authx.auth.authentication.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.authx.auth.authentication.models.Otp;
+import org.authx.auth.authentication.repositories.OtpRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "auth.otp.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaOtpStore implements OtpStore {
+    private final OtpRepository otpRepository;
+    private final OtpPurgeBatches purge;
+
+    public JpaOtpStore(OtpRepository otpRepository,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${auth.otp.purge.batch-size:1000}") int purgeBatchSize,
+                       @Value("${auth.otp.purge.pause-ms:50}") long purgePauseMillis) {
+        this.otpRepository = otpRepository;
+        this.purge = new OtpPurgeBatches(transactionManager, meterRegistry, purgeBatchSize, purgePauseMillis);
+    }
+
+    @Override
+    @Transactional
+    public void save(String email, Otp.OtpType type, String code, LocalDateTime expiresAt) {
+        // Invalidate any existing unused OTPs for this email and type
+        otpRepository.invalidateOtps(email, type);
+
+        Otp otp = new Otp();
+        otp.setEmail(email);
+        otp.setCode(code);
+        otp.setType(type);
+        otp.setExpiresAt(expiresAt);
+        otp.setUsed(false);
+
+        otpRepository.save(otp);
+    }
+
+    @Override
+    @Transactional
+    public ConsumeResult consume(String email, Otp.OtpType type, String code) {
+        Optional<Otp> otpOptional = otpRepository.findFirstByEmailAndTypeAndUsedFalseAndExpiresAtAfterOrderByCreatedAtDesc(
+                email, type, LocalDateTime.now());
+
+        if (otpOptional.isEmpty()) {
+            return ConsumeResult.EXPIRED;
+        }
+
+        Otp otp = otpOptional.get();
+        if (!otp.getCode().equals(code)) {
+            return ConsumeResult.MISMATCH;
+        }
+        // Conditional update so two concurrent verifications cannot both consume the same row
+        return otpRepository.markUsed(otp.getId()) == 1 ? ConsumeResult.CONSUMED : ConsumeResult.EXPIRED;
+    }
+
+    /**
+     * Deletes expired rows in short, paced transactions (see {@link OtpPurgeBatches}). Used rows are
+     * covered too, since every code expires within minutes of being issued.
+     */
+    @Override
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        purge.run(() -> {
+            List<Long> ids = otpRepository.findExpiredIds(cutoff, PageRequest.of(0, purge.batchSize()));
+            if (!ids.isEmpty()) {
+                otpRepository.deleteAllByIdInBatch(ids);
+            }
+            return ids.size();
+        });
+    }
+}
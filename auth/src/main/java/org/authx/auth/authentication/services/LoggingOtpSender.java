@@ -0,0 +1,22 @@
+package org.authx.auth.authentication.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Development stand-in: writes the codes to the application log
+@Component
+@ConditionalOnProperty(name = "auth.otp.delivery.sender", havingValue = "log", matchIfMissing = true)
+public class LoggingOtpSender implements OtpSender {
+    private static final Logger log = LoggerFactory.getLogger(LoggingOtpSender.class);
+
+    @Override
+    public void send(List<OtpMessage> messages) {
+        for (OtpMessage message : messages) {
+            log.info("OTP for {} ({}): {}", message.email(), message.type(), message.code());
+        }
+    }
+}
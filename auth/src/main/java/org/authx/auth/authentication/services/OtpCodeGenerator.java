@@ -0,0 +1,166 @@
+package org.authx.auth.authentication.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Issues OTP codes from a ring of pre-generated codes, so the request path neither contends on a
+ * shared {@link SecureRandom} nor allocates: taking a code is one counter increment and one
+ * {@code getAndSet} on the ring slot, and each code is handed out at most once. A background thread
+ * tops the ring up every {@code auth.otp.generator.refill-interval}, or as soon as half of it has been
+ * taken; a request that finds its slot empty generates a code inline rather than waiting.
+ * <p>
+ * Codes are drawn as a single bounded int from one of a few DRBG instances striped by thread id
+ * (per-thread instances would mean seeding one DRBG per virtual thread).
+ */
+@Component
+public class OtpCodeGenerator implements SmartLifecycle {
+    public static final int CODE_LENGTH = 6;
+    private static final int CODE_BOUND = 1_000_000;
+
+    private final SecureRandom[] stripes;
+    private final int stripeMask;
+    private final AtomicReferenceArray<String> ring;
+    private final int ringMask;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicInteger takenSinceRefill = new AtomicInteger();
+    private final long refillIntervalNanos;
+    private final boolean virtualThreads;
+    private final Counter misses;
+    private volatile Thread refiller;
+    private volatile boolean running;
+
+    public OtpCodeGenerator(MeterRegistry meterRegistry,
+                            @Value("${auth.otp.generator.pool-size:4096}") int poolSize,
+                            @Value("${auth.otp.generator.stripes:0}") int stripeCount,
+                            @Value("${auth.otp.generator.refill-interval:1s}") Duration refillInterval,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        // 0 means one DRBG per available core
+        int stripeSize = powerOfTwo(stripeCount > 0 ? stripeCount : Runtime.getRuntime().availableProcessors());
+        this.stripes = new SecureRandom[stripeSize];
+        for (int i = 0; i < stripeSize; i++) {
+            stripes[i] = newDrbg();
+        }
+        this.stripeMask = stripeSize - 1;
+
+        int ringSize = powerOfTwo(poolSize);
+        this.ring = new AtomicReferenceArray<>(ringSize);
+        this.ringMask = ringSize - 1;
+        this.refillIntervalNanos = refillInterval.toNanos();
+        this.virtualThreads = virtualThreads;
+        this.misses = Counter.builder("auth.otp.generator.misses")
+                .description("OTP codes generated inline because the pre-generated pool was empty")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a pre-generated code, falling back to {@link #generate()} when the pool is drained.
+     */
+    public String next() {
+        int slot = (int) (cursor.getAndIncrement() & ringMask);
+        String code = ring.getAndSet(slot, null);
+        if (takenSinceRefill.incrementAndGet() == ring.length() / 2) {
+            Thread thread = refiller;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+        if (code == null) {
+            misses.increment();
+            return generate();
+        }
+        return code;
+    }
+
+    /**
+     * Draws a fresh zero-padded code from this thread's DRBG stripe, bypassing the pool.
+     */
+    public String generate() {
+        SecureRandom random = stripes[(int) Thread.currentThread().threadId() & stripeMask];
+        int value = random.nextInt(CODE_BOUND);
+        char[] digits = new char[CODE_LENGTH];
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(digits);
+    }
+
+    @Override
+    public void start() {
+        refill();
+        running = true;
+        Thread.Builder builder = virtualThreads
+                ? Thread.ofVirtual().name("otp-code-refill")
+                : Thread.ofPlatform().name("otp-code-refill").daemon(true);
+        refiller = builder.start(this::refillLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = refiller;
+        refiller = null;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            // Wait out a refill in progress, or it could put codes back after the ring is cleared
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Don't leave unused codes behind in the heap
+        for (int i = 0; i < ring.length(); i++) {
+            ring.set(i, null);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void refillLoop() {
+        while (running) {
+            LockSupport.parkNanos(this, refillIntervalNanos);
+            if (running) {
+                refill();
+            }
+        }
+    }
+
+    private void refill() {
+        takenSinceRefill.set(0);
+        for (int i = 0; i < ring.length(); i++) {
+            if (ring.get(i) == null) {
+                ring.compareAndSet(i, null, generate());
+            }
+        }
+    }
+
+    private static SecureRandom newDrbg() {
+        try {
+            return SecureRandom.getInstance("DRBG",
+                    DrbgParameters.instantiation(256, DrbgParameters.Capability.RESEED_ONLY, null));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("DRBG SecureRandom is not available", e);
+        }
+    }
+
+    private static int powerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
@@ -0,0 +1,161 @@
+package org.authx.auth.authentication.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded queue between OTP issuance and delivery. Messages are enqueued after the issuing
+ * transaction commits, so request threads never wait on the mail/SMS gateway; worker threads drain
+ * them in batches through the {@link OtpSender}, retrying failed batches with exponential backoff.
+ * On shutdown the workers finish what is already queued before exiting. Workers are virtual threads
+ * when {@code spring.threads.virtual.enabled} is set, since they spend their time waiting on the gateway.
+ */
+@Component
+public class OtpDeliveryQueue implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(OtpDeliveryQueue.class);
+    private static final long POLL_MILLIS = 200;
+
+    private final OtpSender sender;
+    private final BlockingQueue<OtpMessage> queue;
+    private final int workerCount;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration shutdownTimeout;
+    private final boolean virtualThreads;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter dropped;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public OtpDeliveryQueue(OtpSender sender,
+                            MeterRegistry meterRegistry,
+                            @Value("${auth.otp.delivery.queue-capacity:10000}") int queueCapacity,
+                            @Value("${auth.otp.delivery.workers:2}") int workerCount,
+                            @Value("${auth.otp.delivery.batch-size:50}") int batchSize,
+                            @Value("${auth.otp.delivery.max-attempts:5}") int maxAttempts,
+                            @Value("${auth.otp.delivery.initial-backoff:200ms}") Duration initialBackoff,
+                            @Value("${auth.otp.delivery.shutdown-timeout:10s}") Duration shutdownTimeout,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.sender = sender;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.shutdownTimeout = shutdownTimeout;
+        this.virtualThreads = virtualThreads;
+
+        Gauge.builder("auth.otp.delivery.queue", queue, BlockingQueue::size)
+                .description("OTP messages waiting for delivery")
+                .register(meterRegistry);
+        this.sent = Counter.builder("auth.otp.delivery.messages").tag("outcome", "sent").register(meterRegistry);
+        this.failed = Counter.builder("auth.otp.delivery.messages").tag("outcome", "failed").register(meterRegistry);
+        this.dropped = Counter.builder("auth.otp.delivery.messages").tag("outcome", "dropped").register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOtpIssued(OtpMessage message) {
+        if (!queue.offer(message)) {
+            dropped.increment();
+            log.warn("OTP delivery queue full, dropping message for {} ({})", message.email(), message.type());
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread.Builder builder = virtualThreads
+                ? Thread.ofVirtual().name("otp-delivery-", 1)
+                : Thread.ofPlatform().name("otp-delivery-", 1).daemon(true);
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(builder.start(this::drainLoop));
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+        if (!queue.isEmpty()) {
+            log.warn("{} OTP messages were not delivered before shutdown", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server so requests still in flight can enqueue their messages
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drainLoop() {
+        List<OtpMessage> batch = new ArrayList<>(batchSize);
+        // Keep going after stop() until the queue is empty, so queued messages are not lost
+        while (running || !queue.isEmpty()) {
+            try {
+                OtpMessage first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(List<OtpMessage> batch) throws InterruptedException {
+        long backoffMillis = initialBackoff.toMillis();
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                sender.send(batch);
+                sent.increment(batch.size());
+                return;
+            } catch (Exception e) {
+                if (attempt == maxAttempts) {
+                    failed.increment(batch.size());
+                    log.error("Giving up on {} OTP messages after {} attempts", batch.size(), attempt, e);
+                    return;
+                }
+                log.warn("OTP delivery attempt {} failed, retrying in {} ms", attempt, backoffMillis, e);
+                TimeUnit.MILLISECONDS.sleep(backoffMillis);
+                backoffMillis *= 2;
+            }
+        }
+    }
+}
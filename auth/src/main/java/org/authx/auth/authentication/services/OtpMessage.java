@@ -0,0 +1,10 @@
+package org.authx.auth.authentication.services;
+
+import org.authx.auth.authentication.models.Otp;
+
+/**
+ * An issued OTP waiting for delivery. Published by {@link OtpService} and queued once the issuing
+ * transaction has committed.
+ */
+public record OtpMessage(String email, Otp.OtpType type, String code) {
+}
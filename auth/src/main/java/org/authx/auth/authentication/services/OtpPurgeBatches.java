@@ -0,0 +1,66 @@
+package org.authx.auth.authentication.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Pacing and metrics shared by the OTP stores' purges: each batch of at most
+ * {@code auth.otp.purge.batch-size} rows runs in its own short transaction, with a pause of
+ * {@code auth.otp.purge.pause-ms} before the next, so the purge never holds a wide range lock.
+ */
+class OtpPurgeBatches {
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final Counter purgedRows;
+    private final Timer batchTimer;
+
+    OtpPurgeBatches(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                    int batchSize, long pauseMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.purgedRows = Counter.builder("auth.otp.purge.rows")
+                .description("Expired OTP rows deleted by the purge job")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("auth.otp.purge.batch")
+                .description("Time per purge batch")
+                .register(meterRegistry);
+    }
+
+    int batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Calls {@code deleteBatch} until it deletes fewer than {@link #batchSize()} rows.
+     *
+     * @param deleteBatch deletes at most {@link #batchSize()} expired rows and returns the count
+     */
+    void run(IntSupplier deleteBatch) {
+        int deleted;
+        do {
+            long start = System.nanoTime();
+            Integer batch = transactionTemplate.execute(status -> deleteBatch.getAsInt());
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            deleted = batch == null ? 0 : batch;
+            purgedRows.increment(deleted);
+        } while (deleted == batchSize && pause());
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
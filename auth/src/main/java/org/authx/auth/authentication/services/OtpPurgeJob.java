@@ -0,0 +1,21 @@
+package org.authx.auth.authentication.services;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "auth.otp.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class OtpPurgeJob {
+    private final OtpService otpService;
+
+    public OtpPurgeJob(OtpService otpService) {
+        this.otpService = otpService;
+    }
+
+    @Scheduled(initialDelayString = "${auth.otp.purge.interval-ms:300000}",
+            fixedDelayString = "${auth.otp.purge.interval-ms:300000}")
+    public void purgeExpiredOtps() {
+        otpService.cleanupExpiredOtps();
+    }
+}
@@ -0,0 +1,11 @@
+package org.authx.auth.authentication.services;
+
+import java.util.List;
+
+/**
+ * Delivers OTP messages to users (email, SMS, ...). Called from the delivery workers with batches of
+ * up to {@code auth.otp.delivery.batch-size} messages; throwing makes the whole batch retry.
+ */
+public interface OtpSender {
+    void send(List<OtpMessage> messages) throws Exception;
+}
@@ -1,78 +1,58 @@
 package org.authx.auth.authentication.services;
 
 import org.authx.auth.authentication.models.Otp;
-import org.authx.auth.authentication.repositories.OtpRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.Optional;
 
 @Service
 public class OtpService {
-    private static final int OTP_LENGTH = 6;
     private static final int OTP_EXPIRY_MINUTES = 10;
-    private static final SecureRandom random = new SecureRandom();
     
-    private final OtpRepository otpRepository;
-
-    public OtpService(OtpRepository otpRepository) {
-        this.otpRepository = otpRepository;
+    private final OtpStore otpStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuthMetrics metrics;
+    private final OtpCodeGenerator codeGenerator;
+
+    public OtpService(OtpStore otpStore, ApplicationEventPublisher eventPublisher, AuthMetrics metrics,
+                      OtpCodeGenerator codeGenerator) {
+        this.otpStore = otpStore;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        this.codeGenerator = codeGenerator;
     }
 
     public String generateOtp() {
-        StringBuilder otp = new StringBuilder();
-        for (int i = 0; i < OTP_LENGTH; i++) {
-            otp.append(random.nextInt(10));
-        }
-        return otp.toString();
+        return codeGenerator.next();
     }
 
-    @Transactional
     public String createAndSaveOtp(String email, Otp.OtpType type) {
-        // Invalidate any existing unused OTPs for this email and type
-        otpRepository.invalidateOtps(email, type);
-        
         String code = generateOtp();
-        Otp otp = new Otp();
-        otp.setEmail(email);
-        otp.setCode(code);
-        otp.setType(type);
-        otp.setExpiresAt(LocalDateTime.now().plusMinutes(OTP_EXPIRY_MINUTES));
-        otp.setUsed(false);
+        long start = System.nanoTime();
+        otpStore.save(email, type, code, LocalDateTime.now().plusMinutes(OTP_EXPIRY_MINUTES));
+        metrics.recordDb("otp.save", start, AuthMetrics.SUCCESS);
         
-        otpRepository.save(otp);
-        
-        // TODO: Send OTP via email/SMS - for now, just return the code
-        // In production call an email /sms service to send otp
-        System.out.println("OTP for " + email + " (" + type + "): " + code);
+        // Delivery happens on the OtpDeliveryQueue workers once the OTP is committed
+        eventPublisher.publishEvent(new OtpMessage(email, type, code));
         
         return code;
     }
 
-    @Transactional
     public boolean validateOtp(String email, String code, Otp.OtpType type) {
-        Optional<Otp> otpOptional = otpRepository.findByEmailAndTypeAndUsedFalseAndExpiresAtAfterOrderByCreatedAtDesc(
-                email, type, LocalDateTime.now());
-        
-        if (otpOptional.isEmpty()) {
-            return false;
-        }
-        
-        Otp otp = otpOptional.get();
-        if (otp.getCode().equals(code)) {
-            otp.setUsed(true);
-            otpRepository.save(otp);
-            return true;
-        }
-        
-        return false;
+        long start = System.nanoTime();
+        OtpStore.ConsumeResult result = otpStore.consume(email, type, code);
+        String outcome = switch (result) {
+            case CONSUMED -> AuthMetrics.SUCCESS;
+            case MISMATCH -> AuthMetrics.INVALID_OTP;
+            case EXPIRED -> AuthMetrics.EXPIRED_OTP;
+        };
+        metrics.recordDb("otp.validate", start, outcome);
+        metrics.count(type == Otp.OtpType.LOGIN ? "login" : "password_reset", outcome);
+        return result == OtpStore.ConsumeResult.CONSUMED;
     }
 
-    @Transactional
     public void cleanupExpiredOtps() {
-        otpRepository.deleteExpiredOtps(LocalDateTime.now());
+        otpStore.purgeExpired();
     }
 }
-
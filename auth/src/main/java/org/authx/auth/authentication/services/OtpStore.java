@@ -0,0 +1,36 @@
+package org.authx.auth.authentication.services;
+
+import org.authx.auth.authentication.models.Otp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Storage for issued OTP codes. Selected with {@code auth.otp.store} ({@code jpa}, {@code upsert}
+ * or {@code memory}).
+ */
+public interface OtpStore {
+
+    /**
+     * Stores a new code for the email/type pair, invalidating any code issued before it.
+     */
+    void save(String email, Otp.OtpType type, String code, LocalDateTime expiresAt);
+
+    /**
+     * Atomically consumes the live code for the email/type pair if it matches. A code can be
+     * consumed at most once, even under concurrent verification attempts.
+     */
+    ConsumeResult consume(String email, Otp.OtpType type, String code);
+
+    /**
+     * Removes codes that are past their expiry.
+     */
+    void purgeExpired();
+
+    enum ConsumeResult {
+        CONSUMED,
+        /** A live code exists but the submitted one does not match it. */
+        MISMATCH,
+        /** No live code: expired, already used or never issued. */
+        EXPIRED
+    }
+}
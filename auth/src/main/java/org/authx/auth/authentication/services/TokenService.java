@@ -0,0 +1,104 @@
+package org.authx.auth.authentication.services;
+
+import org.authx.auth.authentication.configs.TokenConfig;
+import org.authx.auth.authentication.dtos.TokenResponse;
+import org.authx.auth.authentication.models.CustomUserDetails;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Service
+public class TokenService {
+    private static final String BEARER = "Bearer";
+
+    private final JwtEncoder jwtEncoder;
+    private final JwtDecoder refreshTokenDecoder;
+    private final CustomUserDetailsService userDetailsService;
+    private final Duration accessTtl;
+    private final Duration refreshTtl;
+
+    public TokenService(JwtEncoder jwtEncoder,
+                        SecretKey tokenSigningKey,
+                        CustomUserDetailsService userDetailsService,
+                        @Value("${auth.token.access-ttl}") Duration accessTtl,
+                        @Value("${auth.token.refresh-ttl}") Duration refreshTtl) {
+        this.jwtEncoder = jwtEncoder;
+        this.refreshTokenDecoder = TokenConfig.decoderFor(tokenSigningKey, TokenConfig.TOKEN_TYPE_REFRESH);
+        this.userDetailsService = userDetailsService;
+        this.accessTtl = accessTtl;
+        this.refreshTtl = refreshTtl;
+    }
+
+    public TokenResponse issueTokens(CustomUserDetails userDetails) {
+        Instant now = Instant.now();
+        List<String> authorities = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .toList();
+
+        JwtClaimsSet accessClaims = JwtClaimsSet.builder()
+                .subject(userDetails.getUsername())
+                .issuedAt(now)
+                .expiresAt(now.plus(accessTtl))
+                .claim(TokenConfig.CLAIM_USER_ID, userDetails.getId())
+                .claim(TokenConfig.CLAIM_AUTHORITIES, authorities)
+                .claim(TokenConfig.CLAIM_TOKEN_TYPE, TokenConfig.TOKEN_TYPE_ACCESS)
+                .build();
+
+        // Refresh tokens carry no authorities: they are re-resolved on refresh so role changes apply.
+        // The token version is bumped on password reset, which retires every refresh token issued before it
+        JwtClaimsSet refreshClaims = JwtClaimsSet.builder()
+                .subject(userDetails.getUsername())
+                .issuedAt(now)
+                .expiresAt(now.plus(refreshTtl))
+                .claim(TokenConfig.CLAIM_USER_ID, userDetails.getId())
+                .claim(TokenConfig.CLAIM_TOKEN_TYPE, TokenConfig.TOKEN_TYPE_REFRESH)
+                .claim(TokenConfig.CLAIM_TOKEN_VERSION, userDetails.getTokenVersion())
+                .build();
+
+        return new TokenResponse(encode(accessClaims), encode(refreshClaims), BEARER, accessTtl.toSeconds());
+    }
+
+    public TokenResponse refresh(String refreshToken) {
+        Jwt jwt;
+        try {
+            jwt = refreshTokenDecoder.decode(refreshToken);
+        } catch (JwtException e) {
+            throw new IllegalArgumentException("Invalid or expired refresh token");
+        }
+
+        CustomUserDetails userDetails;
+        try {
+            userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(jwt.getSubject());
+        } catch (UsernameNotFoundException e) {
+            throw new IllegalArgumentException("Invalid or expired refresh token");
+        }
+        if (!userDetails.isEnabled()) {
+            throw new IllegalArgumentException("User is disabled");
+        }
+        Number version = jwt.getClaim(TokenConfig.CLAIM_TOKEN_VERSION);
+        if ((version == null ? 0 : version.intValue()) != userDetails.getTokenVersion()) {
+            throw new IllegalArgumentException("Invalid or expired refresh token");
+        }
+        return issueTokens(userDetails);
+    }
+
+    private String encode(JwtClaimsSet claims) {
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+}
@@ -0,0 +1,58 @@
+package org.authx.auth.authentication.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.authx.auth.authentication.models.Otp;
+import org.authx.auth.authentication.repositories.OtpSlotRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keeps exactly one row per (email, type) in {@code otp_slots}: issuing is a single
+ * {@code INSERT ... ON DUPLICATE KEY UPDATE} and verifying a single conditional {@code DELETE}.
+ * Requires MySQL 8.0.19 or later (row alias in the upsert).
+ */
+@Component
+@ConditionalOnProperty(name = "auth.otp.store", havingValue = "upsert")
+public class UpsertOtpStore implements OtpStore {
+    private final OtpSlotRepository otpSlotRepository;
+    private final OtpPurgeBatches purge;
+
+    public UpsertOtpStore(OtpSlotRepository otpSlotRepository,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${auth.otp.purge.batch-size:1000}") int purgeBatchSize,
+                          @Value("${auth.otp.purge.pause-ms:50}") long purgePauseMillis) {
+        this.otpSlotRepository = otpSlotRepository;
+        this.purge = new OtpPurgeBatches(transactionManager, meterRegistry, purgeBatchSize, purgePauseMillis);
+    }
+
+    @Override
+    @Transactional
+    public void save(String email, Otp.OtpType type, String code, LocalDateTime expiresAt) {
+        otpSlotRepository.upsert(email, type.name(), code, expiresAt, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional
+    public ConsumeResult consume(String email, Otp.OtpType type, String code) {
+        LocalDateTime now = LocalDateTime.now();
+        if (otpSlotRepository.consume(email, type.name(), code, now) == 1) {
+            return ConsumeResult.CONSUMED;
+        }
+        // Only failed attempts pay for the primary-key lookup that tells the two failures apart
+        return otpSlotRepository.existsByEmailAndTypeAndExpiresAtAfter(email, type, now)
+                ? ConsumeResult.MISMATCH : ConsumeResult.EXPIRED;
+    }
+
+    // Same paced batches and purge metrics as JpaOtpStore
+    @Override
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        purge.run(() -> otpSlotRepository.deleteExpired(cutoff, purge.batchSize()));
+    }
+}
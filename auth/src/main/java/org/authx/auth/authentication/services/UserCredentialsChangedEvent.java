@@ -0,0 +1,8 @@
+package org.authx.auth.authentication.services;
+
+/**
+ * Published whenever a user's password, roles or permissions change, so that anything caching
+ * authentication state for that email can drop it.
+ */
+public record UserCredentialsChangedEvent(String email) {
+}
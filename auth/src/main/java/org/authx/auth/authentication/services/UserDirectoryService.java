@@ -0,0 +1,131 @@
+package org.authx.auth.authentication.services;
+
+import org.authx.auth.authentication.dtos.UserPage;
+import org.authx.auth.authentication.dtos.UserSummary;
+import org.authx.auth.authentication.repositories.UserListingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+@Service
+public class UserDirectoryService {
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final UserListingRepository userListingRepository;
+    private final JsonMapper jsonMapper;
+    private final int exportFetchSize;
+    // One per connection in the export pool, so a rejected export fails before the response starts
+    private final Semaphore exportSlots;
+
+    public UserDirectoryService(UserListingRepository userListingRepository,
+                                JsonMapper jsonMapper,
+                                @Value("${auth.admin.export.fetch-size:1000}") int exportFetchSize,
+                                @Value("${auth.admin.export.max-concurrent:2}") int maxConcurrentExports) {
+        this.userListingRepository = userListingRepository;
+        this.jsonMapper = jsonMapper;
+        this.exportFetchSize = exportFetchSize;
+        this.exportSlots = new Semaphore(maxConcurrentExports);
+    }
+
+    public UserPage listUsers(long afterId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<UserSummary> users = userListingRepository.findPage(Math.max(afterId, 0), limit);
+        Long nextAfterId = users.size() == limit ? users.get(users.size() - 1).getId() : null;
+        return new UserPage(users, nextAfterId);
+    }
+
+    /**
+     * Claims an export slot for {@code body}, which gives it back when it finishes. Throws
+     * {@link ExportRejectedException} when all {@code auth.admin.export.max-concurrent} slots are in use.
+     */
+    public ExportBody reserveExport(ExportBody body) {
+        if (!exportSlots.tryAcquire()) {
+            throw new ExportRejectedException("Too many exports in progress, please retry shortly");
+        }
+        return out -> {
+            try {
+                body.writeTo(out);
+            } finally {
+                exportSlots.release();
+            }
+        };
+    }
+
+    public void exportNdjson(OutputStream out) throws IOException {
+        export(out, (writer, user) -> {
+            writer.write(jsonMapper.writeValueAsString(user));
+            writer.write('\n');
+        }, null);
+    }
+
+    public void exportCsv(OutputStream out) throws IOException {
+        export(out, (writer, user) -> {
+            writer.write(String.valueOf(user.getId()));
+            writer.write(',');
+            writer.write(csv(user.getUsername()));
+            writer.write(',');
+            writer.write(csv(user.getEmail()));
+            writer.write(',');
+            writer.write(String.valueOf(user.isEnabled()));
+            writer.write(',');
+            writer.write(csv(String.join(";", user.getRoles())));
+            writer.write("\r\n");
+        }, "id,username,email,enabled,roles\r\n");
+    }
+
+    private void export(OutputStream out, RowWriter rowWriter, String header) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (header != null) {
+            writer.write(header);
+        }
+        try {
+            userListingRepository.streamAll(exportFetchSize, user -> {
+                try {
+                    rowWriter.write(writer, user);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Client went away; stop reading the cursor
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        // Keep spreadsheet apps from evaluating user-controlled fields as formulas
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    public interface ExportBody {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Writer writer, UserSummary user) throws IOException;
+    }
+}
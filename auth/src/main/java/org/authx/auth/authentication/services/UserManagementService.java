@@ -6,8 +6,6 @@ import org.authx.auth.authentication.dtos.UpdateUserRolesRequest;
 import org.authx.auth.authentication.models.Permission;
 import org.authx.auth.authentication.models.Role;
 import org.authx.auth.authentication.models.User;
-import org.authx.auth.authentication.repositories.PermissionRepository;
-import org.authx.auth.authentication.repositories.RoleRepository;
 import org.authx.auth.authentication.repositories.UserRepository;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -20,74 +18,123 @@ import java.util.stream.Collectors;
 @Service
 public class UserManagementService {
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
-    private final PermissionRepository permissionRepository;
+    private final AuthorityCatalog authorityCatalog;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
+    private final AuthMetrics metrics;
 
     public UserManagementService(UserRepository userRepository,
-                                RoleRepository roleRepository,
-                                PermissionRepository permissionRepository,
-                                PasswordEncoder passwordEncoder) {
+                                AuthorityCatalog authorityCatalog,
+                                PasswordEncoder passwordEncoder,
+                                CustomUserDetailsService userDetailsService,
+                                AuthMetrics metrics) {
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
-        this.permissionRepository = permissionRepository;
+        this.authorityCatalog = authorityCatalog;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsService = userDetailsService;
+        this.metrics = metrics;
     }
 
     @Transactional
     public User createAdmin(CreateAdminRequest request) {
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
+        long start = System.nanoTime();
+        boolean exists = userRepository.findByEmail(request.getEmail()).isPresent();
+        metrics.recordDb("user.lookup", start, exists ? AuthMetrics.SUCCESS : AuthMetrics.NOT_FOUND);
+        if (exists) {
+            metrics.count("admin.create", AuthMetrics.INVALID_REQUEST);
             throw new IllegalArgumentException("Email already exists");
         }
 
         User admin = new User();
         admin.setUsername(request.getUsername());
         admin.setEmail(request.getEmail());
+        start = System.nanoTime();
         admin.setPassword(passwordEncoder.encode(request.getPassword()));
+        metrics.recordHash("password.hash", start, AuthMetrics.SUCCESS);
         admin.setEnabled(true);
 
         // Assign ROLE_ADMIN by default
-        Role adminRole = roleRepository.findByName("ROLE_ADMIN")
-                .orElseThrow(() -> new IllegalArgumentException("ROLE_ADMIN not found"));
+        Role adminRole = authorityCatalog.role("ROLE_ADMIN");
 
         Set<Role> roles = new HashSet<>();
         roles.add(adminRole);
         admin.setRoles(roles);
 
-        return userRepository.save(admin);
+        userDetailsService.evictUser(admin.getEmail());
+        start = System.nanoTime();
+        User saved = userRepository.save(admin);
+        metrics.recordDb("user.save", start, AuthMetrics.SUCCESS);
+        metrics.count("admin.create", AuthMetrics.SUCCESS);
+        return saved;
     }
 
     @Transactional
     public User updateUserRoles(Long userId, UpdateUserRolesRequest request) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        User user = findUser(userId, "admin.roles.update");
 
-        Set<Role> roles = request.getRoles().stream()
-                .map(roleName -> roleRepository.findByName(roleName)
-                        .orElseThrow(() -> new IllegalArgumentException("Role not found: " + roleName)))
-                .collect(Collectors.toSet());
+        long start = System.nanoTime();
+        Set<Role> roles;
+        try {
+            roles = request.getRoles().stream()
+                    .map(authorityCatalog::role)
+                    .collect(Collectors.toSet());
+        } catch (IllegalArgumentException e) {
+            metrics.recordDb("authority.resolve", start, AuthMetrics.NOT_FOUND);
+            metrics.count("admin.roles.update", AuthMetrics.INVALID_REQUEST);
+            throw e;
+        }
+        metrics.recordDb("authority.resolve", start, AuthMetrics.SUCCESS);
 
         user.setRoles(roles);
-        return userRepository.save(user);
+        userDetailsService.evictUser(user.getEmail());
+        return saveUser(user, "admin.roles.update");
     }
 
     @Transactional
     public User updateUserPermissions(Long userId, UpdateUserPermissionsRequest request) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        User user = findUser(userId, "admin.permissions.update");
 
         if (request.getPermissions() == null || request.getPermissions().isEmpty()) {
             user.setPermissions(new HashSet<>());
         } else {
-            Set<Permission> permissions = request.getPermissions().stream()
-                    .map(permName -> permissionRepository.findByName(permName)
-                            .orElseThrow(() -> new IllegalArgumentException("Permission not found: " + permName)))
-                    .collect(Collectors.toSet());
+            long start = System.nanoTime();
+            Set<Permission> permissions;
+            try {
+                permissions = request.getPermissions().stream()
+                        .map(authorityCatalog::permission)
+                        .collect(Collectors.toSet());
+            } catch (IllegalArgumentException e) {
+                metrics.recordDb("authority.resolve", start, AuthMetrics.NOT_FOUND);
+                metrics.count("admin.permissions.update", AuthMetrics.INVALID_REQUEST);
+                throw e;
+            }
+            metrics.recordDb("authority.resolve", start, AuthMetrics.SUCCESS);
 
             user.setPermissions(permissions);
         }
 
-        return userRepository.save(user);
+        userDetailsService.evictUser(user.getEmail());
+        return saveUser(user, "admin.permissions.update");
+    }
+
+    private User findUser(Long userId, String flow) {
+        long start = System.nanoTime();
+        User user = userRepository.findById(userId).orElse(null);
+        metrics.recordDb("user.lookup", start, user != null ? AuthMetrics.SUCCESS : AuthMetrics.NOT_FOUND);
+        if (user == null) {
+            metrics.count(flow, AuthMetrics.NOT_FOUND);
+            throw new IllegalArgumentException("User not found");
+        }
+        return user;
+    }
+
+    private User saveUser(User user, String flow) {
+        // Flushes the join-table rewrite so the timer covers the actual writes
+        long start = System.nanoTime();
+        User saved = userRepository.saveAndFlush(user);
+        metrics.recordDb("user.save", start, AuthMetrics.SUCCESS);
+        metrics.count(flow, AuthMetrics.SUCCESS);
+        return saved;
     }
 
     public User getUserById(Long userId) {
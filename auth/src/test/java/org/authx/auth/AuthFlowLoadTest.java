@@ -0,0 +1,256 @@
+package org.authx.auth;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test for register -> request OTP -> login plus the admin endpoints, against an
+ * in-memory H2 database in MySQL mode. OTPs are captured from the delivery queue by a test sender.
+ * <p>
+ * Excluded from the default build; run with {@code mvn -Pload-test test}. Tunables (system properties):
+ * {@code load.users}, {@code load.iterations}, {@code load.warmup-iterations},
+ * {@code load.budget.p99-ms}, {@code load.budget.p999-ms} and {@code load.budget.error-rate}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:load;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "auth.token.secret=dGVzdC1vbmx5LXNpZ25pbmcta2V5LW5vdC1mb3ItcHJvZA==",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "auth.otp.delivery.sender=capture",
+        "auth.otp.purge.enabled=false",
+        "auth.rate-limit.enabled=false",
+        "auth.password.bcrypt.strength=10",
+        "auth.password.hashing.queue-capacity=4096"
+})
+@Import(CapturingOtpSender.class)
+class AuthFlowLoadTest {
+    private static final String AUTH = "/api/v1/auth";
+    private static final String ADMIN = "/api/v1/admin";
+    private static final Duration OTP_TIMEOUT = Duration.ofSeconds(10);
+
+    private final int users = Integer.getInteger("load.users", 50);
+    private final int iterations = Integer.getInteger("load.iterations", 5);
+    private final int warmupIterations = Integer.getInteger("load.warmup-iterations", 1);
+    private final long p99BudgetMs = Long.getLong("load.budget.p99-ms", 500);
+    private final long p999BudgetMs = Long.getLong("load.budget.p999-ms", 1500);
+    private final double errorRateBudget = Double.parseDouble(System.getProperty("load.budget.error-rate", "0.01"));
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private CapturingOtpSender otpSender;
+
+    private final JsonMapper json = JsonMapper.builder().build();
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void registerOtpLoginAndAdminFlowStaysWithinBudget() throws Exception {
+        String adminToken = login(new Recorder(), "superadmin@school.com", "SuperAdmin@123");
+        assertThat(adminToken).as("super admin token").isNotNull();
+
+        run(new Recorder(), adminToken, "warmup", warmupIterations);
+
+        Recorder recorder = new Recorder();
+        long start = System.nanoTime();
+        run(recorder, adminToken, "load", iterations);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        recorder.report(elapsed);
+        recorder.assertWithin(p99BudgetMs, p999BudgetMs, errorRateBudget);
+    }
+
+    private void run(Recorder recorder, String adminToken, String phase, int iterationsPerUser) throws Exception {
+        try (ExecutorService virtualUsers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int u = 0; u < users; u++) {
+                String email = phase + "-" + u + "-" + System.nanoTime() + "@load.test";
+                futures.add(virtualUsers.submit(() -> virtualUser(recorder, adminToken, email, iterationsPerUser)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    private Void virtualUser(Recorder recorder, String adminToken, String email, int iterationsPerUser) throws Exception {
+        String password = "Password@123";
+        HttpResponse<String> registered = call(recorder, "register", 201, post(AUTH + "/register", null,
+                Map.of("username", email.substring(0, email.indexOf('@')), "email", email, "password", password)));
+        if (registered == null) {
+            return null;
+        }
+        long userId = json.readTree(registered.body()).path("data").path("id").asLong();
+
+        for (int i = 0; i < iterationsPerUser; i++) {
+            login(recorder, email, password);
+            call(recorder, "admin/roles", 200, put(ADMIN + "/users/" + userId + "/roles", adminToken,
+                    Map.of("roles", List.of("ROLE_ADMIN"))));
+            call(recorder, "admin/permissions", 200, put(ADMIN + "/users/" + userId + "/permissions", adminToken,
+                    Map.of("permissions", List.of("STUDENT_READ", "STUDENT_UPDATE"))));
+        }
+        return null;
+    }
+
+    private String login(Recorder recorder, String email, String password) throws Exception {
+        CompletableFuture<String> otp = otpSender.expect(email);
+        if (call(recorder, "login/request-otp", 200, post(AUTH + "/login/request-otp", null,
+                Map.of("email", email, "password", password))) == null) {
+            otpSender.forget(email);
+            return null;
+        }
+        String code;
+        try {
+            code = otp.get(OTP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            recorder.error("login/request-otp");
+            return null;
+        } finally {
+            otpSender.forget(email);
+        }
+        HttpResponse<String> response = call(recorder, "login", 200, post(AUTH + "/login", null,
+                Map.of("email", email, "otp", code)));
+        return response == null ? null : json.readTree(response.body()).path("data").path("accessToken").asString();
+    }
+
+    private HttpResponse<String> call(Recorder recorder, String endpoint, int expectedStatus, HttpRequest request) {
+        recorder.attempt(endpoint);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            recorder.record(endpoint, System.nanoTime() - start);
+            if (response.statusCode() != expectedStatus) {
+                recorder.error(endpoint);
+                return null;
+            }
+            return response;
+        } catch (Exception e) {
+            recorder.error(endpoint);
+            return null;
+        }
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        return request(path, token).POST(HttpRequest.BodyPublishers.ofString(json.writeValueAsString(body))).build();
+    }
+
+    private HttpRequest put(String path, String token, Object body) {
+        return request(path, token).PUT(HttpRequest.BodyPublishers.ofString(json.writeValueAsString(body))).build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private static final class Recorder {
+        private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+        void attempt(String endpoint) {
+            endpoint(endpoint).attempts.incrementAndGet();
+        }
+
+        void record(String endpoint, long nanos) {
+            endpoint(endpoint).latencies.add(nanos);
+        }
+
+        void error(String endpoint) {
+            endpoint(endpoint).errors.incrementAndGet();
+        }
+
+        private Endpoint endpoint(String name) {
+            return endpoints.computeIfAbsent(name, k -> new Endpoint());
+        }
+
+        void report(Duration elapsed) {
+            double seconds = elapsed.toNanos() / 1e9;
+            System.out.printf("%nLoad test: %.1fs%n", seconds);
+            System.out.printf("%-20s %8s %10s %9s %9s %9s %8s%n",
+                    "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors");
+            endpoints.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+                Endpoint e = entry.getValue();
+                long[] sorted = e.sorted();
+                System.out.printf("%-20s %8d %10.1f %9.2f %9.2f %9.2f %7.2f%%%n",
+                        entry.getKey(), sorted.length, sorted.length / seconds,
+                        millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                        millis(percentile(sorted, 0.999)), e.errorRate() * 100);
+            });
+        }
+
+        void assertWithin(long p99BudgetMs, long p999BudgetMs, double errorRateBudget) {
+            assertThat(endpoints).as("recorded endpoints").isNotEmpty();
+            endpoints.forEach((name, e) -> {
+                long[] sorted = e.sorted();
+                assertThat(e.errorRate()).as("%s error rate", name).isLessThanOrEqualTo(errorRateBudget);
+                assertThat(millis(percentile(sorted, 0.99))).as("%s p99 ms", name).isLessThanOrEqualTo(p99BudgetMs);
+                assertThat(millis(percentile(sorted, 0.999))).as("%s p999 ms", name).isLessThanOrEqualTo(p999BudgetMs);
+            });
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+
+    private static final class Endpoint {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong attempts = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+
+        long[] sorted() {
+            long[] values = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(values);
+            return values;
+        }
+
+        double errorRate() {
+            long total = attempts.get();
+            return total == 0 ? 0 : (double) errors.get() / total;
+        }
+    }
+}
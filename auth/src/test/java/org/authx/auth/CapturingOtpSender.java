@@ -0,0 +1,43 @@
+package org.authx.auth;
+
+import org.authx.auth.authentication.services.OtpMessage;
+import org.authx.auth.authentication.services.OtpSender;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Test {@link OtpSender} (selected with {@code auth.otp.delivery.sender=capture}) that hands each
+ * issued OTP to the caller waiting for it instead of logging it.
+ */
+class CapturingOtpSender implements OtpSender {
+    private final Map<String, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+    private volatile Thread lastSender;
+
+    CompletableFuture<String> expect(String email) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        pending.put(email, future);
+        return future;
+    }
+
+    void forget(String email) {
+        pending.remove(email);
+    }
+
+    Thread lastSender() {
+        return lastSender;
+    }
+
+    @Override
+    public void send(List<OtpMessage> messages) {
+        lastSender = Thread.currentThread();
+        for (OtpMessage message : messages) {
+            CompletableFuture<String> future = pending.get(message.email());
+            if (future != null) {
+                future.complete(message.code());
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package org.authx.auth;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs register -> request OTP -> login concurrently with the {@code virtual-threads} profile and a
+ * two-connection pool, so request threads park on the pool and the database while the scheduled
+ * catalog refresh runs alongside them. The JVM's {@code -Djdk.tracePinnedThreads} report is captured
+ * from stdout; the test fails when any reported stack passes through an {@code org.authx} frame, since
+ * application code on the stack means the pin happened on one of our paths even if the monitor or
+ * native frame belongs to a library. Frames in {@link #PINNING_ALLOWLIST} are exempt. Pins with no
+ * application frame at all are printed but do not fail the run.
+ * <p>
+ * Excluded from the default build; run with {@code mvn -Pvirtual-threads test}. Tunables (system
+ * properties): {@code pinning.users} and {@code pinning.iterations}.
+ */
+@Tag("pinning")
+@ActiveProfiles("virtual-threads")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:pinning;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "auth.token.secret=dGVzdC1vbmx5LXNpZ25pbmcta2V5LW5vdC1mb3ItcHJvZA==",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.minimum-idle=2",
+        "spring.datasource.hikari.connection-timeout=30000",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "auth.otp.delivery.sender=capture",
+        "auth.otp.purge.enabled=false",
+        "auth.rate-limit.enabled=false",
+        "auth.catalog.refresh-interval-ms=50",
+        "auth.password.bcrypt.strength=10",
+        "auth.password.hashing.queue-capacity=4096"
+})
+@Import(CapturingOtpSender.class)
+class VirtualThreadPinningTest {
+    private static final String AUTH = "/api/v1/auth";
+    private static final String APP_PACKAGE = "org.authx.";
+    // Application frames ("class.method") accepted as pinning, each with the reason it cannot be avoided.
+    // Keep this empty unless a pin is understood and tracked.
+    private static final Set<String> PINNING_ALLOWLIST = Set.of();
+    private static final Duration OTP_TIMEOUT = Duration.ofSeconds(10);
+
+    private final int users = Integer.getInteger("pinning.users", 32);
+    private final int iterations = Integer.getInteger("pinning.iterations", 3);
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private CapturingOtpSender otpSender;
+
+    private final JsonMapper json = JsonMapper.builder().build();
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void loginFlowDoesNotPinCarrierThreadsInApplicationCode() throws Exception {
+        assumeTrue(System.getProperty("jdk.tracePinnedThreads") != null,
+                "needs -Djdk.tracePinnedThreads (mvn -Pvirtual-threads test)");
+
+        // The JVM prints pinned stacks to whatever System.out is at the time
+        PrintStream original = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                original.write(b);
+                captured.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                original.write(b, off, len);
+                captured.write(b, off, len);
+            }
+        }, true, StandardCharsets.UTF_8));
+        try {
+            try (ExecutorService virtualUsers = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int u = 0; u < users; u++) {
+                    String email = "pinning-" + u + "-" + System.nanoTime() + "@load.test";
+                    futures.add(virtualUsers.submit(() -> virtualUser(email)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+        } finally {
+            System.out.flush();
+            System.setOut(original);
+        }
+
+        assertThat(otpSender.lastSender()).as("OTP delivery worker").isNotNull();
+        assertThat(otpSender.lastSender().isVirtual()).as("OTP delivery worker is virtual").isTrue();
+
+        List<String> applicationPins = new ArrayList<>();
+        for (String report : pinnedReports(captured.toString(StandardCharsets.UTF_8))) {
+            if (passesThroughApplicationCode(report)) {
+                applicationPins.add(report);
+            } else {
+                original.println("Pinned in library code (not failing):\n" + report);
+            }
+        }
+        assertThat(applicationPins).as("virtual threads pinned on a stack through org.authx code").isEmpty();
+    }
+
+    private Void virtualUser(String email) throws Exception {
+        String password = "Password@123";
+        HttpResponse<String> registered = send(post(AUTH + "/register",
+                Map.of("username", email.substring(0, email.indexOf('@')), "email", email, "password", password)));
+        assertThat(registered.statusCode()).as("register %s", email).isEqualTo(201);
+
+        for (int i = 0; i < iterations; i++) {
+            CompletableFuture<String> otp = otpSender.expect(email);
+            try {
+                HttpResponse<String> requested = send(post(AUTH + "/login/request-otp",
+                        Map.of("email", email, "password", password)));
+                assertThat(requested.statusCode()).as("request-otp %s", email).isEqualTo(200);
+                String code = otp.get(OTP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+
+                HttpResponse<String> login = send(post(AUTH + "/login", Map.of("email", email, "otp", code)));
+                assertThat(login.statusCode()).as("login %s", email).isEqualTo(200);
+            } finally {
+                otpSender.forget(email);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Splits the trace output into one report per pinned stack: a {@code Thread[...]} or
+     * {@code VirtualThread[...]} header followed by indented frames.
+     */
+    private static List<String> pinnedReports(String output) {
+        List<String> reports = new ArrayList<>();
+        StringBuilder current = null;
+        for (String line : output.split("\\R")) {
+            if (line.startsWith("Thread[") || line.startsWith("VirtualThread[")) {
+                if (current != null) {
+                    reports.add(current.toString());
+                }
+                current = new StringBuilder(line).append('\n');
+            } else if (current != null && line.startsWith("    ")) {
+                current.append(line).append('\n');
+            } else if (current != null) {
+                reports.add(current.toString());
+                current = null;
+            }
+        }
+        if (current != null) {
+            reports.add(current.toString());
+        }
+        return reports;
+    }
+
+    private static boolean passesThroughApplicationCode(String report) {
+        for (String line : report.split("\n")) {
+            String frame = line.strip();
+            if (frame.startsWith(APP_PACKAGE) && !PINNING_ALLOWLIST.contains(methodOf(frame))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // "org.authx.Foo.bar(Foo.java:42) <== monitors:1" -> "org.authx.Foo.bar"
+    private static String methodOf(String frame) {
+        int paren = frame.indexOf('(');
+        return paren >= 0 ? frame.substring(0, paren) : frame;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest post(String path, Object body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json.writeValueAsString(body)))
+                .build();
+    }
+}
@@ -0,0 +1,172 @@
+package org.authx.auth.authentication.configs;
+
+import org.authx.auth.authentication.repositories.AuthorityCatalogJdbcRepository;
+import org.authx.auth.authentication.repositories.CatalogStateRepository;
+import org.authx.auth.authentication.repositories.RoleRepository;
+import org.authx.auth.authentication.repositories.UserRepository;
+import org.authx.auth.authentication.services.AuthorityCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(AuthorityCatalogJdbcRepository.class)
+class DataInitializerTest {
+
+    @Autowired
+    private AuthorityCatalogJdbcRepository catalogRepository;
+
+    @Autowired
+    private CatalogStateRepository catalogStateRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private DataInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        // Built by hand: as a bean, Boot would also run it as a CommandLineRunner with the real catalog
+        initializer = new DataInitializer(catalogRepository, catalogStateRepository, roleRepository, userRepository,
+                new BCryptPasswordEncoder(4), mock(AuthorityCatalog.class), JsonMapper.builder().build());
+    }
+
+    @Test
+    void firstRunSeedsTheCatalogAndTheSuperAdmin() {
+        initializer.initialize(seed(permissions(), roles()));
+
+        assertThat(descriptions()).containsOnly(
+                Map.entry("ADMIN_READ", "Read admins"), Map.entry("STUDENT_READ", "Read students"));
+        assertThat(grants("ROLE_ADMIN")).containsExactly("ADMIN_READ");
+        assertThat(grants("ROLE_SUPER_ADMIN")).containsExactly("ADMIN_READ", "STUDENT_READ");
+        assertThat(userRepository.findByEmail("superadmin@school.com")).isPresent();
+        assertThat(catalogStateRepository.findById("authority-catalog")).isPresent();
+    }
+
+    @Test
+    void unchangedCatalogIsSkipped() {
+        AuthoritySeed seed = seed(permissions(), roles());
+        initializer.initialize(seed);
+        // Drift made outside the file is only repaired when the file changes
+        jdbcTemplate.update("DELETE FROM role_permissions WHERE role_id = (SELECT id FROM roles WHERE name = 'ROLE_ADMIN')");
+
+        initializer.initialize(seed);
+
+        assertThat(grants("ROLE_ADMIN")).isEmpty();
+        assertThat(userRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void addedPermissionIsInsertedAndGranted() {
+        initializer.initialize(seed(permissions(), roles()));
+
+        Map<String, String> permissions = permissions();
+        permissions.put("STUDENT_CREATE", "Create students");
+        Map<String, List<String>> roles = roles();
+        roles.put("ROLE_ADMIN", List.of("ADMIN_READ", "STUDENT_CREATE"));
+        initializer.initialize(seed(permissions, roles));
+
+        assertThat(descriptions()).containsEntry("STUDENT_CREATE", "Create students");
+        assertThat(grants("ROLE_ADMIN")).containsExactly("ADMIN_READ", "STUDENT_CREATE");
+        assertThat(grants("ROLE_SUPER_ADMIN")).containsExactly("ADMIN_READ", "STUDENT_CREATE", "STUDENT_READ");
+    }
+
+    @Test
+    void changedDescriptionIsUpdatedInPlace() {
+        initializer.initialize(seed(permissions(), roles()));
+        long id = permissionId("STUDENT_READ");
+
+        Map<String, String> permissions = permissions();
+        permissions.put("STUDENT_READ", "View student records");
+        initializer.initialize(seed(permissions, roles()));
+
+        assertThat(descriptions()).containsEntry("STUDENT_READ", "View student records");
+        assertThat(permissionId("STUDENT_READ")).isEqualTo(id);
+        assertThat(grants("ROLE_SUPER_ADMIN")).containsExactly("ADMIN_READ", "STUDENT_READ");
+    }
+
+    @Test
+    void removedGrantIsDeletedOnlyFromSeededRoles() {
+        initializer.initialize(seed(permissions(), roles()));
+        jdbcTemplate.update("INSERT INTO roles (name) VALUES ('ROLE_CUSTOM')");
+        jdbcTemplate.update("INSERT INTO role_permissions (role_id, permission_id) VALUES (?, ?)",
+                roleId("ROLE_CUSTOM"), permissionId("ADMIN_READ"));
+
+        Map<String, List<String>> roles = roles();
+        roles.put("ROLE_ADMIN", List.of());
+        initializer.initialize(seed(permissions(), roles));
+
+        assertThat(grants("ROLE_ADMIN")).isEmpty();
+        assertThat(grants("ROLE_CUSTOM")).containsExactly("ADMIN_READ");
+        assertThat(descriptions()).containsKey("ADMIN_READ");
+    }
+
+    @Test
+    void permissionCreatedInTheTableIsGrantedToWildcardRoles() {
+        AuthoritySeed seed = seed(permissions(), roles());
+        initializer.initialize(seed);
+        jdbcTemplate.update("INSERT INTO permissions (name, description) VALUES ('REPORT_READ', 'Read reports')");
+
+        initializer.initialize(seed);
+
+        assertThat(grants("ROLE_SUPER_ADMIN")).containsExactly("ADMIN_READ", "REPORT_READ", "STUDENT_READ");
+        assertThat(grants("ROLE_ADMIN")).containsExactly("ADMIN_READ");
+    }
+
+    private static AuthoritySeed seed(Map<String, String> permissions, Map<String, List<String>> roles) {
+        return new AuthoritySeed(permissions, roles);
+    }
+
+    private static Map<String, String> permissions() {
+        Map<String, String> permissions = new LinkedHashMap<>();
+        permissions.put("STUDENT_READ", "Read students");
+        permissions.put("ADMIN_READ", "Read admins");
+        return permissions;
+    }
+
+    private static Map<String, List<String>> roles() {
+        Map<String, List<String>> roles = new LinkedHashMap<>();
+        roles.put("ROLE_SUPER_ADMIN", List.of(AuthoritySeed.ALL_PERMISSIONS));
+        roles.put("ROLE_ADMIN", List.of("ADMIN_READ"));
+        return roles;
+    }
+
+    private Map<String, String> descriptions() {
+        Map<String, String> descriptions = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT name, description FROM permissions",
+                rs -> { descriptions.put(rs.getString(1), rs.getString(2)); });
+        return descriptions;
+    }
+
+    private List<String> grants(String role) {
+        return jdbcTemplate.queryForList("SELECT p.name FROM role_permissions rp "
+                + "JOIN roles r ON r.id = rp.role_id JOIN permissions p ON p.id = rp.permission_id "
+                + "WHERE r.name = ? ORDER BY p.name", String.class, role);
+    }
+
+    private long permissionId(String name) {
+        return jdbcTemplate.queryForObject("SELECT id FROM permissions WHERE name = ?", Long.class, name);
+    }
+
+    private long roleId(String name) {
+        return jdbcTemplate.queryForObject("SELECT id FROM roles WHERE name = ?", Long.class, name);
+    }
+}
@@ -0,0 +1,78 @@
+package org.authx.auth.authentication.models;
+
+import org.authx.auth.authentication.security.AuthorityChecks;
+import org.authx.auth.authentication.security.AuthorityRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomUserDetailsTest {
+    private final AuthorityRegistry registry = new AuthorityRegistry();
+    private final AuthorityChecks checks = new AuthorityChecks(registry);
+
+    @Test
+    void collectsRolePermissionsAndDirectPermissions() {
+        CustomUserDetails details = new CustomUserDetails(user(), registry);
+
+        assertThat(details.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_ADMIN", "ADMIN_READ", "STUDENT_READ");
+        assertThat(details.getAuthorityBits().has(registry.lookup("ADMIN_READ"))).isTrue();
+        assertThat(details.getAuthorities()).isSameAs(details.getAuthorities());
+    }
+
+    @Test
+    void survivesSessionSerializationAndChecksByName() throws Exception {
+        CustomUserDetails details = new CustomUserDetails(user(), registry);
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+                details, null, details.getAuthorities());
+
+        Authentication restored = roundTrip(authentication);
+        CustomUserDetails restoredDetails = (CustomUserDetails) restored.getPrincipal();
+
+        assertThat(restoredDetails.getAuthorityBits()).isNull();
+        assertThat(restoredDetails.getUsername()).isEqualTo("admin@school.com");
+        assertThat(checks.has(restored, "ADMIN_READ")).isTrue();
+        assertThat(checks.has(restored, "ADMIN_CREATE")).isFalse();
+    }
+
+    private static User user() {
+        Permission adminRead = permission("ADMIN_READ");
+        Role admin = new Role();
+        admin.setName("ROLE_ADMIN");
+        admin.setPermissions(Set.of(adminRead));
+
+        User user = new User();
+        user.setId(7L);
+        user.setEmail("admin@school.com");
+        user.setPassword("hash");
+        user.setRoles(Set.of(admin));
+        user.setPermissions(Set.of(permission("STUDENT_READ")));
+        return user;
+    }
+
+    private static Permission permission(String name) {
+        Permission permission = new Permission();
+        permission.setName(name);
+        return permission;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(T value) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+}
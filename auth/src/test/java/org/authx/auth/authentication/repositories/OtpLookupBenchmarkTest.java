@@ -0,0 +1,116 @@
+package org.authx.auth.authentication.repositories;
+
+import org.authx.auth.authentication.models.Otp;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verify-lookup latency on an embedded database seeded with millions of OTP rows, measured once
+ * with only the old (email, type) index and once with idx_otp_latest, and checks the planner picks
+ * idx_otp_latest for the lookup. Run with {@code mvn test -Pbenchmark};
+ * tune with {@code -Dbench.otp.rows} and {@code -Dbench.otp.rowsPerEmail}.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OtpLookupBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OtpLookupBenchmarkTest.class);
+
+    private static final int ROWS = Integer.getInteger("bench.otp.rows", 2_000_000);
+    private static final int ROWS_PER_EMAIL = Integer.getInteger("bench.otp.rowsPerEmail", 200);
+    private static final int WARMUP_LOOKUPS = 2_000;
+    private static final int MEASURED_LOOKUPS = 10_000;
+
+    @Autowired
+    private OtpRepository otpRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void verifyLookupBeforeAndAfterLatestIndex() {
+        seed();
+        int emails = ROWS / ROWS_PER_EMAIL;
+
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_otp_latest");
+        jdbcTemplate.execute("CREATE INDEX idx_email_type ON otps (email, type)");
+        long[] before = measure(emails);
+
+        jdbcTemplate.execute("DROP INDEX idx_email_type");
+        jdbcTemplate.execute("CREATE INDEX idx_otp_latest ON otps (email, type, used, created_at)");
+        long[] after = measure(emails);
+
+        log.info(String.format("OTP verify lookup over %,d rows (%d per email)", ROWS, ROWS_PER_EMAIL));
+        report("idx_email_type", before);
+        report("idx_otp_latest", after);
+
+        String plan = jdbcTemplate.queryForObject("""
+                EXPLAIN SELECT * FROM otps
+                WHERE email = 'user1@bench.com' AND type = 'LOGIN' AND used = FALSE AND expires_at > CURRENT_TIMESTAMP
+                ORDER BY created_at DESC FETCH FIRST 1 ROWS ONLY
+                """, String.class);
+        assertThat(plan).containsIgnoringCase("idx_otp_latest");
+    }
+
+    // Every email gets ROWS_PER_EMAIL used, expired history rows plus one live code (the newest row)
+    private void seed() {
+        jdbcTemplate.execute("DELETE FROM otps");
+        jdbcTemplate.update("""
+                INSERT INTO otps (email, code, type, expires_at, used, created_at)
+                SELECT CONCAT('user', MOD(X, ?), '@bench.com'),
+                       '123456',
+                       'LOGIN',
+                       CASE WHEN X > ? THEN DATEADD('MINUTE', 10, CURRENT_TIMESTAMP) ELSE DATEADD('MINUTE', -10, CURRENT_TIMESTAMP) END,
+                       CASE WHEN X > ? THEN FALSE ELSE TRUE END,
+                       DATEADD('SECOND', X - ?, CURRENT_TIMESTAMP)
+                FROM SYSTEM_RANGE(1, ?)
+                """, ROWS / ROWS_PER_EMAIL, ROWS - ROWS / ROWS_PER_EMAIL, ROWS - ROWS / ROWS_PER_EMAIL, ROWS, ROWS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private long[] measure(int emails) {
+        for (int i = 0; i < WARMUP_LOOKUPS; i++) {
+            lookup(emails);
+        }
+        long[] samples = new long[MEASURED_LOOKUPS];
+        for (int i = 0; i < MEASURED_LOOKUPS; i++) {
+            long start = System.nanoTime();
+            lookup(emails);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private void lookup(int emails) {
+        String email = "user" + ThreadLocalRandom.current().nextInt(emails) + "@bench.com";
+        otpRepository.findFirstByEmailAndTypeAndUsedFalseAndExpiresAtAfterOrderByCreatedAtDesc(
+                email, Otp.OtpType.LOGIN, LocalDateTime.now()).orElseThrow();
+    }
+
+    private static void report(String label, long[] sortedNanos) {
+        log.info(String.format("  %-16s p50 %8.1f us   p99 %8.1f us   max %8.1f us", label,
+                sortedNanos[sortedNanos.length / 2] / 1_000.0,
+                sortedNanos[(int) (sortedNanos.length * 0.99)] / 1_000.0,
+                sortedNanos[sortedNanos.length - 1] / 1_000.0));
+    }
+}
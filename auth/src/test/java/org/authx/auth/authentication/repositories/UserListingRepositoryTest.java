@@ -0,0 +1,105 @@
+package org.authx.auth.authentication.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.authx.auth.authentication.dtos.UserSummary;
+import org.authx.auth.authentication.models.Role;
+import org.authx.auth.authentication.models.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class UserListingRepositoryTest {
+    private static final int USERS = 7;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private UserListingRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // The export pool is only a separate DataSource in the application; here both share the test database
+        repository = new UserListingRepository(jdbcTemplate, dataSource);
+
+        Role student = persistRole("ROLE_STUDENT");
+        Role teacher = persistRole("ROLE_TEACHER");
+        for (int i = 0; i < USERS; i++) {
+            // Every other user has two roles, so their rows must be folded into one summary
+            persistUser("user" + i, i % 2 == 0 ? Set.of(student, teacher) : Set.of(student));
+        }
+        // A user without roles still appears, via the left join
+        persistUser("loner", Set.of());
+        entityManager.flush();
+    }
+
+    @Test
+    void keysetPagesWalkEveryUserOnceInIdOrder() {
+        List<UserSummary> seen = new ArrayList<>();
+        long afterId = 0;
+        List<UserSummary> page;
+        do {
+            page = repository.findPage(afterId, 3);
+            assertThat(page).hasSizeLessThanOrEqualTo(3);
+            seen.addAll(page);
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == 3);
+
+        assertThat(seen).hasSize(USERS + 1);
+        assertThat(seen).extracting(UserSummary::getId).isSorted().doesNotHaveDuplicates();
+        assertThat(seen.get(0).getRoles()).containsExactlyInAnyOrder("ROLE_STUDENT", "ROLE_TEACHER");
+        assertThat(seen.get(1).getRoles()).containsExactly("ROLE_STUDENT");
+        assertThat(seen.get(USERS).getRoles()).isEmpty();
+    }
+
+    @Test
+    void pageAfterTheLastIdIsEmpty() {
+        List<UserSummary> all = repository.findPage(0, 100);
+
+        assertThat(repository.findPage(all.get(all.size() - 1).getId(), 100)).isEmpty();
+    }
+
+    @Test
+    void streamAllFoldsRolesAndMatchesThePages() {
+        List<UserSummary> streamed = new ArrayList<>();
+        repository.streamAll(2, streamed::add);
+
+        assertThat(streamed).extracting(UserSummary::getId)
+                .containsExactlyElementsOf(repository.findPage(0, 100).stream().map(UserSummary::getId).toList());
+        assertThat(streamed.get(0).getRoles()).hasSize(2);
+    }
+
+    private Role persistRole(String name) {
+        Role role = new Role();
+        role.setName(name);
+        entityManager.persist(role);
+        return role;
+    }
+
+    private void persistUser(String name, Set<Role> roles) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@school.com");
+        user.setPassword("hash");
+        user.setRoles(new HashSet<>(roles));
+        entityManager.persist(user);
+    }
+}
@@ -0,0 +1,82 @@
+package org.authx.auth.authentication.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.authx.auth.authentication.models.CustomUserDetails;
+import org.authx.auth.authentication.models.Permission;
+import org.authx.auth.authentication.models.Role;
+import org.authx.auth.authentication.models.User;
+import org.authx.auth.authentication.security.AuthorityRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4, 16})
+    void authorityLookupUsesSingleStatementRegardlessOfRoleCount(int roleCount) {
+        String email = "user" + roleCount + "@school.com";
+        persistUserWithRoles(email, roleCount);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        User user = userRepository.findWithAuthoritiesByEmail(email).orElseThrow();
+        CustomUserDetails details = new CustomUserDetails(user, new AuthorityRegistry());
+
+        assertThat(details.getAuthorities()).hasSize(roleCount * 3 + 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private void persistUserWithRoles(String email, int roleCount) {
+        Set<Role> roles = new HashSet<>();
+        for (int i = 0; i < roleCount; i++) {
+            Role role = new Role();
+            role.setName("ROLE_" + email + "_" + i);
+            role.setPermissions(new HashSet<>(Set.of(
+                    persistPermission(email + "_READ_" + i),
+                    persistPermission(email + "_WRITE_" + i))));
+            entityManager.persist(role);
+            roles.add(role);
+        }
+
+        User user = new User();
+        user.setUsername(email);
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setRoles(roles);
+        user.setPermissions(new HashSet<>(Set.of(persistPermission(email + "_DIRECT"))));
+        entityManager.persist(user);
+    }
+
+    private Permission persistPermission(String name) {
+        Permission permission = new Permission();
+        permission.setName(name);
+        entityManager.persist(permission);
+        return permission;
+    }
+}
@@ -0,0 +1,129 @@
+package org.authx.auth.authentication.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthRateLimitFilterTest {
+    private static final String REQUEST_OTP = "/api/v1/auth/login/request-otp";
+    private static final int EMAIL_CAPACITY = 2;
+    private static final int MAX_BODY_BYTES = 256;
+
+    // Generous per-IP limit so only the per-email bucket is exercised
+    private final AuthRateLimitFilter filter = new AuthRateLimitFilter(1000, Duration.ofMinutes(1),
+            EMAIL_CAPACITY, Duration.ofMinutes(5), MAX_BODY_BYTES, JsonMapper.builder().build(), new SimpleMeterRegistry());
+
+    @Test
+    void limitsRepeatedRequestsForOneEmail() throws Exception {
+        for (int i = 0; i < EMAIL_CAPACITY; i++) {
+            assertThat(send("{\"email\":\"victim@school.com\",\"password\":\"x\"}").getStatus()).isEqualTo(200);
+        }
+        MockHttpServletResponse rejected = send("{\"email\":\"victim@school.com\",\"password\":\"x\"}");
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isNotNull();
+    }
+
+    @Test
+    void unicodeEscapesCountAgainstTheDecodedEmail() throws Exception {
+        exhaust("victim@school.com");
+        assertThat(send("{\"email\":\"victim\\u0040school.com\"}").getStatus())
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(send("{\"email\":\"\\u0076ictim@school.com\"}").getStatus())
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    void duplicateKeysCountAgainstTheLastValueLikeDataBinding() throws Exception {
+        exhaust("victim@school.com");
+        assertThat(send("{\"email\":\"decoy@school.com\",\"email\":\"victim@school.com\"}").getStatus())
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    void caseAndSurroundingWhitespaceShareOneBucket() throws Exception {
+        exhaust("victim@school.com");
+        assertThat(send("{\"email\":\" Victim@School.COM \"}").getStatus())
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    void rejectsOversizedBodiesWith413() throws Exception {
+        String padding = "x".repeat(MAX_BODY_BYTES);
+        MockHttpServletRequest request = request("{\"email\":\"a@school.com\",\"password\":\"" + padding + "\"}");
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.CONTENT_TOO_LARGE.value());
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void rejectsOversizedBodiesWithoutContentLength() throws Exception {
+        // Chunked transfer: no length up front
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", REQUEST_OTP) {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setServletPath(REQUEST_OTP);
+        request.setContent(("{\"password\":\"" + "x".repeat(MAX_BODY_BYTES) + "\"}").getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.CONTENT_TOO_LARGE.value());
+    }
+
+    @Test
+    void passesTheUnchangedBodyDownstream() throws Exception {
+        String body = "{\"email\":\"a@school.com\",\"password\":\"secret\"}";
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(body), new MockHttpServletResponse(), chain);
+
+        HttpServletRequest forwarded = (HttpServletRequest) chain.getRequest();
+        assertThat(new String(forwarded.getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+    }
+
+    @Test
+    void malformedBodiesAreLeftToTheController() throws Exception {
+        for (int i = 0; i < EMAIL_CAPACITY + 1; i++) {
+            assertThat(send("{\"email\":").getStatus()).isEqualTo(200);
+            assertThat(send("{\"email\":{\"nested\":\"victim@school.com\"}}").getStatus()).isEqualTo(200);
+        }
+    }
+
+    private void exhaust(String email) throws Exception {
+        for (int i = 0; i < EMAIL_CAPACITY; i++) {
+            send("{\"email\":\"" + email + "\"}");
+        }
+    }
+
+    private MockHttpServletResponse send(String body) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(body), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", REQUEST_OTP);
+        request.setServletPath(REQUEST_OTP);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,58 @@
+package org.authx.auth.authentication.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthorityBitsTest {
+
+    @Test
+    void setBitsAreReportedAcrossWordBoundaries() {
+        AuthorityBits bits = new AuthorityBits.Builder().set(0).set(63).set(64).set(200).build();
+
+        assertThat(bits.has(0)).isTrue();
+        assertThat(bits.has(63)).isTrue();
+        assertThat(bits.has(64)).isTrue();
+        assertThat(bits.has(200)).isTrue();
+        assertThat(bits.has(1)).isFalse();
+        assertThat(bits.has(199)).isFalse();
+        assertThat(bits.cardinality()).isEqualTo(4);
+    }
+
+    @Test
+    void unknownAndOutOfRangeIdsAreNotHeld() {
+        AuthorityBits bits = new AuthorityBits.Builder().set(3).build();
+
+        assertThat(bits.has(-1)).isFalse();
+        assertThat(bits.has(64)).isFalse();
+        assertThat(bits.has(Integer.MAX_VALUE)).isFalse();
+    }
+
+    @Test
+    void forEachVisitsIdsInAscendingOrder() {
+        AuthorityBits bits = new AuthorityBits.Builder().set(130).set(5).set(64).set(5).build();
+
+        List<Integer> ids = new ArrayList<>();
+        bits.forEach(ids::add);
+        assertThat(ids).containsExactly(5, 64, 130);
+    }
+
+    @Test
+    void emptyBuildsShareTheEmptyInstance() {
+        assertThat(new AuthorityBits.Builder().build()).isSameAs(AuthorityBits.EMPTY);
+        assertThat(AuthorityBits.EMPTY.cardinality()).isZero();
+        assertThat(AuthorityBits.EMPTY.has(0)).isFalse();
+    }
+
+    @Test
+    void equalityIgnoresHowTheBuilderGrew() {
+        AuthorityBits grown = new AuthorityBits.Builder().set(300).set(1).build();
+        AuthorityBits direct = new AuthorityBits.Builder().set(1).set(300).build();
+
+        assertThat(grown).isEqualTo(direct).hasSameHashCodeAs(direct);
+        assertThat(grown).isNotEqualTo(new AuthorityBits.Builder().set(1).build());
+    }
+}
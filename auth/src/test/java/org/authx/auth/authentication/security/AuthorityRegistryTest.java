@@ -0,0 +1,87 @@
+package org.authx.auth.authentication.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthorityRegistryTest {
+    private final AuthorityRegistry registry = new AuthorityRegistry();
+
+    @Test
+    void seededNamesGetDenseIdsInSortedOrder() {
+        registry.registerAll(List.of("STUDENT_READ", "ADMIN_READ", "ROLE_ADMIN"));
+
+        assertThat(registry.lookup("ADMIN_READ")).isZero();
+        assertThat(registry.lookup("ROLE_ADMIN")).isEqualTo(1);
+        assertThat(registry.lookup("STUDENT_READ")).isEqualTo(2);
+        assertThat(registry.idOf("NEW_PERMISSION")).isEqualTo(3);
+        assertThat(registry.idOf("ADMIN_READ")).isZero();
+    }
+
+    @Test
+    void lookupDoesNotRegister() {
+        assertThat(registry.lookup("NEVER_SEEN")).isEqualTo(-1);
+        assertThat(registry.lookup("NEVER_SEEN")).isEqualTo(-1);
+        assertThat(registry.idOf("FIRST")).isZero();
+    }
+
+    @Test
+    void authoritiesAreSharedInstances() {
+        AuthorityBits bits = registry.bitsOf(List.of("ADMIN_READ", "ROLE_ADMIN"));
+
+        List<GrantedAuthority> first = registry.authoritiesOf(bits);
+        List<GrantedAuthority> second = registry.authoritiesOf(bits);
+        assertThat(first).extracting(GrantedAuthority::getAuthority).containsExactly("ADMIN_READ", "ROLE_ADMIN");
+        assertThat(first.get(0)).isSameAs(second.get(0)).isSameAs(registry.authority(registry.lookup("ADMIN_READ")));
+    }
+
+    @Test
+    void growsPastTheInitialCapacity() {
+        List<String> names = IntStream.range(0, 200).mapToObj(i -> "PERMISSION_" + i).toList();
+        AuthorityBits bits = registry.bitsOf(names);
+
+        assertThat(bits.cardinality()).isEqualTo(200);
+        assertThat(registry.authoritiesOf(bits)).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrderElementsOf(names);
+    }
+
+    @Test
+    void concurrentRegistrationAssignsOneIdPerName() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        try {
+            List<Future<?>> futures = IntStream.range(0, threads)
+                    .<Future<?>>mapToObj(t -> executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < 500; i++) {
+                            int id = registry.idOf("NAME_" + i);
+                            ids.add(id);
+                            assertThat(registry.authority(id).getAuthority()).isEqualTo("NAME_" + i);
+                        }
+                        return null;
+                    }))
+                    .toList();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ids).hasSize(500);
+        assertThat(ids).allMatch(id -> id >= 0 && id < 500);
+    }
+}
@@ -0,0 +1,121 @@
+package org.authx.auth.authentication.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // One worker and one queue slot: a blocked call plus a queued one saturate the pool
+    private final BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1,
+            meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    void rejectsWithAnAuthenticationExceptionWhenSaturated() throws Exception {
+        saturate();
+        assertThatThrownBy(() -> encoder.matches("password", "hash"))
+                .isInstanceOf(PasswordHashingRejectedException.class)
+                .isInstanceOf(AuthenticationException.class);
+    }
+
+    @Test
+    void basicAuthAnswersServiceUnavailableWhenSaturated() throws Exception {
+        saturate();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(new InMemoryUserDetailsManager(
+                User.withUsername("admin@school.com").password("hash").authorities("ADMIN_READ").build()));
+        provider.setPasswordEncoder(encoder);
+        BasicAuthenticationEntryPoint basic = new BasicAuthenticationEntryPoint();
+        basic.setRealmName("Realm");
+        BasicAuthenticationFilter filter = new BasicAuthenticationFilter(new ProviderManager(provider),
+                new HashingAwareAuthenticationEntryPoint(basic));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/admin/users");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Basic " + Base64.getEncoder()
+                .encodeToString("admin@school.com:password".getBytes(StandardCharsets.UTF_8)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getContentAsString()).contains("\"status\":503");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void otherFailuresStillGetTheBasicChallenge() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        BasicAuthenticationEntryPoint basic = new BasicAuthenticationEntryPoint();
+        basic.setRealmName("Realm");
+        new HashingAwareAuthenticationEntryPoint(basic).commence(new MockHttpServletRequest(), response,
+                new BadCredentialsException("Bad credentials"));
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.UNAUTHORIZED.value());
+        assertThat(response.getHeader(HttpHeaders.WWW_AUTHENTICATE)).isEqualTo("Basic realm=\"Realm\"");
+    }
+
+    private void saturate() throws InterruptedException {
+        CompletableFuture.runAsync(() -> encoder.matches("password", "hash"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(() -> encoder.matches("password", "hash"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.hashing.queue").gauge().value() < 1) {
+            assertThat(System.nanoTime()).as("second call never queued").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return block("hash");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return block(true);
+        }
+
+        private <T> T block(T result) {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result;
+        }
+    }
+}
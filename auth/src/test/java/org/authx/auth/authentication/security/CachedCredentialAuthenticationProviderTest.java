@@ -0,0 +1,98 @@
+package org.authx.auth.authentication.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.authx.auth.authentication.services.UserCredentialsChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachedCredentialAuthenticationProviderTest {
+    private static final String EMAIL = "basic@school.com";
+    private static final String PASSWORD = "correct-horse";
+
+    private final AuthenticationProvider delegate = mock(AuthenticationProvider.class);
+    private final CachedCredentialAuthenticationProvider provider = new CachedCredentialAuthenticationProvider(
+            delegate, Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() {
+        when(delegate.authenticate(any())).thenAnswer(invocation -> {
+            Authentication request = invocation.getArgument(0);
+            if (!PASSWORD.equals(request.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(request.getName(), null,
+                    AuthorityUtils.createAuthorityList("ROLE_STUDENT"));
+        });
+    }
+
+    @Test
+    void repeatedCorrectPasswordIsServedFromTheCache() {
+        Authentication first = provider.authenticate(request(PASSWORD));
+        Authentication second = provider.authenticate(request(PASSWORD));
+
+        verify(delegate, times(1)).authenticate(any());
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(second.getPrincipal()).isEqualTo(first.getPrincipal());
+        assertThat(second.getAuthorities()).isEqualTo(first.getAuthorities());
+        assertThat(second.getCredentials()).isNull();
+    }
+
+    @Test
+    void wrongPasswordIsNeverCached() {
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> provider.authenticate(request("wrong"))).isInstanceOf(BadCredentialsException.class);
+        }
+
+        verify(delegate, times(2)).authenticate(argThat(request -> "wrong".equals(request.getCredentials())));
+    }
+
+    @Test
+    void wrongPasswordAfterACachedLoginStillGoesToTheDelegate() {
+        provider.authenticate(request(PASSWORD));
+
+        assertThatThrownBy(() -> provider.authenticate(request("wrong"))).isInstanceOf(BadCredentialsException.class);
+        // The cached entry for the correct password survives the failed attempt
+        provider.authenticate(request(PASSWORD));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void credentialsChangedEventEvictsTheUser() {
+        provider.authenticate(request(PASSWORD));
+
+        provider.onCredentialsChanged(new UserCredentialsChangedEvent(EMAIL));
+        provider.authenticate(request(PASSWORD));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void eventForAnotherUserKeepsTheEntry() {
+        provider.authenticate(request(PASSWORD));
+
+        provider.onCredentialsChanged(new UserCredentialsChangedEvent("other@school.com"));
+        provider.authenticate(request(PASSWORD));
+
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    private static Authentication request(String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(EMAIL, password);
+    }
+}
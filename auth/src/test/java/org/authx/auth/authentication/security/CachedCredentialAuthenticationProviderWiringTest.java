@@ -0,0 +1,89 @@
+package org.authx.auth.authentication.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.authx.auth.authentication.models.User;
+import org.authx.auth.authentication.repositories.UserRepository;
+import org.authx.auth.authentication.services.CustomUserDetailsService;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:credential-cache-off;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "auth.token.secret=dGVzdC1vbmx5LXNpZ25pbmcta2V5LW5vdC1mb3ItcHJvZA==",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "auth.otp.purge.enabled=false",
+        "auth.password.bcrypt.strength=4"
+})
+class CachedCredentialAuthenticationProviderWiringTest {
+
+    @Nested
+    class Disabled {
+        @Autowired
+        private ObjectProvider<CachedCredentialAuthenticationProvider> provider;
+
+        @Test
+        void providerIsAbsentByDefault() {
+            assertThat(provider.getIfAvailable()).isNull();
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "auth.basic.credential-cache.enabled=true",
+            "spring.datasource.url=jdbc:h2:mem:credential-cache-on;MODE=MySQL;DATABASE_TO_LOWER=TRUE"
+    })
+    class Enabled {
+        private static final String EMAIL = "cached@school.com";
+        private static final String PASSWORD = "correct-horse";
+
+        @Autowired
+        private CachedCredentialAuthenticationProvider provider;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private PasswordEncoder passwordEncoder;
+
+        @Autowired
+        private CustomUserDetailsService userDetailsService;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Test
+        void evictingTheUserDropsTheirCachedCredentials() {
+            User user = new User();
+            user.setUsername("cached");
+            user.setEmail(EMAIL);
+            user.setPassword(passwordEncoder.encode(PASSWORD));
+            userRepository.save(user);
+
+            assertThat(provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(EMAIL, PASSWORD))
+                    .isAuthenticated()).isTrue();
+            assertThat(cachedEntries()).isEqualTo(1);
+
+            // The event published by the details service reaches the provider's listener
+            userDetailsService.evictUser(EMAIL);
+
+            assertThat(cachedEntries()).isZero();
+        }
+
+        private double cachedEntries() {
+            return meterRegistry.get("cache.size").tag("cache", "basicAuthCredentials").gauge().value();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.authx.auth.authentication.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequiresPermissionAuthorizationManagerTest {
+    private final AuthorityChecks checks = new AuthorityChecks(new AuthorityRegistry());
+    private final RequiresPermissionAuthorizationManager manager = new RequiresPermissionAuthorizationManager(() -> checks);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void methodAnnotationOverridesTheClassAnnotation() {
+        manager.register(Operations.class);
+        Operations operations = proxy(new Operations());
+
+        authenticate("STUDENT_READ");
+        assertThatCode(operations::read).doesNotThrowAnyException();
+        assertThatThrownBy(operations::create).isInstanceOf(AuthorizationDeniedException.class);
+
+        authenticate("STUDENT_READ", "ADMIN_CREATE", "ADMIN_READ");
+        assertThatCode(operations::create).doesNotThrowAnyException();
+    }
+
+    @Test
+    void everyListedAuthorityIsRequired() {
+        manager.register(Operations.class);
+        Operations operations = proxy(new Operations());
+
+        authenticate("ADMIN_CREATE");
+        assertThatThrownBy(operations::create).isInstanceOf(AuthorizationDeniedException.class);
+    }
+
+    @Test
+    void emptyAnnotationFailsRegistration() {
+        assertThatThrownBy(() -> manager.register(Misconfigured.class))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("names no authority");
+    }
+
+    @Test
+    void unregisteredMethodsAreRefused() {
+        Operations operations = proxy(new Operations());
+
+        authenticate("STUDENT_READ");
+        assertThatThrownBy(operations::read)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("was not resolved at startup");
+    }
+
+    @Test
+    void misconfiguredBeanFailsContextStartup() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(RequiresPermissionAuthorizationManager.class,
+                    () -> new RequiresPermissionAuthorizationManager(() -> checks));
+            context.registerBean(Misconfigured.class);
+            assertThatThrownBy(context::refresh)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("names no authority");
+        }
+    }
+
+    private Operations proxy(Operations target) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(manager.interceptor());
+        return (Operations) factory.getProxy();
+    }
+
+    private static void authenticate(String... authorities) {
+        TestingAuthenticationToken authentication = new TestingAuthenticationToken("user", null, authorities);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    @RequiresPermission("STUDENT_READ")
+    static class Operations {
+        public void read() {
+        }
+
+        @RequiresPermission({"ADMIN_CREATE", "ADMIN_READ"})
+        public void create() {
+        }
+    }
+
+    static class Misconfigured {
+        @RequiresPermission({})
+        public void nothing() {
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.authx.auth.authentication.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(1_000 * SECOND);
+    // 5 tokens per 5 seconds: one token every second
+    private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(5, Duration.ofSeconds(5), now::get);
+
+    @Test
+    void admitsBurstUpToCapacityThenReportsWaitUntilNextToken() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("k")).as("request %d", i).isZero();
+        }
+        assertThat(limiter.tryAcquire("k")).isEqualTo(SECOND);
+
+        now.addAndGet(SECOND / 4);
+        assertThat(limiter.tryAcquire("k")).isEqualTo(SECOND * 3 / 4);
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("k");
+        }
+
+        now.addAndGet(SECOND);
+        assertThat(limiter.tryAcquire("k")).isZero();
+        assertThat(limiter.tryAcquire("k")).isPositive();
+
+        now.addAndGet(5 * SECOND);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("k")).as("request %d after full refill", i).isZero();
+        }
+        assertThat(limiter.tryAcquire("k")).isPositive();
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumeTokens() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("k");
+        }
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("k");
+        }
+
+        now.addAndGet(SECOND);
+        assertThat(limiter.tryAcquire("k")).isZero();
+    }
+
+    @Test
+    void keysHaveIndependentBuckets() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("a");
+        }
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.tryAcquire("b")).isZero();
+    }
+
+    @Test
+    void evictsOnlyFullyRefilledBuckets() {
+        limiter.tryAcquire("idle");
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("busy");
+        }
+
+        now.addAndGet(2 * SECOND);
+        limiter.evictIdle();
+
+        assertThat(limiter.size()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("busy")).isZero();
+        assertThat(limiter.tryAcquire("busy")).isZero();
+        assertThat(limiter.tryAcquire("busy")).isPositive();
+    }
+}
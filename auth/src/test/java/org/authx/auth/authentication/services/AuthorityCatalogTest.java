@@ -0,0 +1,79 @@
+package org.authx.auth.authentication.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.authx.auth.authentication.models.Permission;
+import org.authx.auth.authentication.models.Role;
+import org.authx.auth.authentication.repositories.PermissionRepository;
+import org.authx.auth.authentication.repositories.RoleRepository;
+import org.authx.auth.authentication.security.AuthorityRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthorityCatalogTest {
+    private final RoleRepository roleRepository = mock(RoleRepository.class);
+    private final PermissionRepository permissionRepository = mock(PermissionRepository.class);
+    private final AuthorityCatalog catalog = new AuthorityCatalog(roleRepository, permissionRepository,
+            new AuthorityRegistry(), new AuthMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    void knownNamesResolveFromTheSnapshot() {
+        when(roleRepository.findAllWithPermissions()).thenReturn(List.of(role(1, "ROLE_ADMIN")));
+        when(permissionRepository.findAll()).thenReturn(List.of(permission(1, "USER_READ")));
+
+        assertThat(catalog.role("ROLE_ADMIN").getId()).isEqualTo(1);
+        assertThat(catalog.permission("USER_READ").getId()).isEqualTo(1);
+        assertThat(catalog.role("ROLE_ADMIN").getName()).isEqualTo("ROLE_ADMIN");
+
+        // Loaded once on first use, never again for names it already holds
+        verify(roleRepository, times(1)).findAllWithPermissions();
+    }
+
+    @Test
+    void missReloadsOnceAndFindsRowsAddedSinceTheLastRefresh() {
+        when(roleRepository.findAllWithPermissions())
+                .thenReturn(List.of(role(1, "ROLE_ADMIN")))
+                .thenReturn(List.of(role(1, "ROLE_ADMIN"), role(2, "ROLE_AUDITOR")));
+        when(permissionRepository.findAll()).thenReturn(List.of());
+        catalog.refresh();
+
+        assertThat(catalog.role("ROLE_AUDITOR").getId()).isEqualTo(2);
+        assertThat(catalog.snapshot().version()).isEqualTo(2);
+        verify(roleRepository, times(2)).findAllWithPermissions();
+    }
+
+    @Test
+    void unknownNameIsRejectedAfterOneReload() {
+        when(roleRepository.findAllWithPermissions()).thenReturn(List.of(role(1, "ROLE_ADMIN")));
+        when(permissionRepository.findAll()).thenReturn(List.of());
+        catalog.refresh();
+
+        assertThatThrownBy(() -> catalog.role("ROLE_NOPE"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Role not found: ROLE_NOPE");
+        verify(roleRepository, times(2)).findAllWithPermissions();
+        // Same content, so the reload does not bump the version
+        assertThat(catalog.snapshot().version()).isEqualTo(1);
+    }
+
+    private static Role role(long id, String name) {
+        Role role = new Role();
+        role.setId(id);
+        role.setName(name);
+        return role;
+    }
+
+    private static Permission permission(long id, String name) {
+        Permission permission = new Permission();
+        permission.setId(id);
+        permission.setName(name);
+        return permission;
+    }
+}
@@ -0,0 +1,253 @@
+package org.authx.auth.authentication.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.authx.auth.authentication.configs.CacheConfig;
+import org.authx.auth.authentication.dtos.BulkUpdateResponse;
+import org.authx.auth.authentication.dtos.BulkUpdateUserPermissionsRequest;
+import org.authx.auth.authentication.dtos.BulkUpdateUserRolesRequest;
+import org.authx.auth.authentication.models.Permission;
+import org.authx.auth.authentication.models.Role;
+import org.authx.auth.authentication.models.User;
+import org.authx.auth.authentication.repositories.PermissionRepository;
+import org.authx.auth.authentication.repositories.RoleRepository;
+import org.authx.auth.authentication.repositories.UserAuthorityJdbcRepository;
+import org.authx.auth.authentication.repositories.UserRepository;
+import org.authx.auth.authentication.security.AuthorityRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Not wrapped in a test transaction: each chunk must commit so after-commit evictions run
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkAssignmentServiceTest {
+    private static final int USERS = 5;
+    private static final int USERS_PER_TRANSACTION = 2;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.USER_DETAILS_CACHE);
+    // Per email, the user's committed user_roles row count as seen from another connection at each eviction
+    private final Map<String, List<Integer>> committedRolesAtEviction = new ConcurrentHashMap<>();
+    private final List<Long> userIds = new ArrayList<>();
+    private BulkAssignmentService service;
+
+    @BeforeEach
+    void setUp() {
+        Role student = role("ROLE_STUDENT");
+        role("ROLE_TEACHER");
+        role("ROLE_LIBRARIAN");
+        permission("BOOK_READ");
+        permission("BOOK_WRITE");
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setUsername("bulk" + i);
+            user.setEmail(email(i));
+            user.setPassword("hash");
+            user.setRoles(new HashSet<>(Set.of(student)));
+            userIds.add(userRepository.save(user).getId());
+            cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE).put(email(i), "cached details");
+        }
+
+        AuthMetrics metrics = new AuthMetrics(new SimpleMeterRegistry());
+        AuthorityCatalog catalog = new AuthorityCatalog(roleRepository, permissionRepository, new AuthorityRegistry(), metrics);
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(userRepository, cacheManager,
+                event -> {
+                    String email = ((UserCredentialsChangedEvent) event).email();
+                    committedRolesAtEviction.computeIfAbsent(email, key -> new CopyOnWriteArrayList<>())
+                            .add(committedRoleRows(email));
+                },
+                new AuthorityRegistry(), metrics);
+        service = new BulkAssignmentService(catalog,
+                new UserAuthorityJdbcRepository(jdbcTemplate, new NamedParameterJdbcTemplate(jdbcTemplate)),
+                userDetailsService, transactionManager, metrics, USERS_PER_TRANSACTION, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM user_permissions");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM role_permissions");
+        jdbcTemplate.update("DELETE FROM roles");
+        jdbcTemplate.update("DELETE FROM permissions");
+    }
+
+    @Test
+    void rolesAreReplacedNotMerged() {
+        BulkUpdateResponse response = service.updateRoles(rolesRequest(userIds, "ROLE_TEACHER", "ROLE_LIBRARIAN"));
+
+        for (Long userId : userIds) {
+            assertThat(roleNames(userId)).containsExactlyInAnyOrder("ROLE_TEACHER", "ROLE_LIBRARIAN");
+        }
+        assertThat(response.getUsers()).isEqualTo(USERS);
+        assertThat(response.getRows()).isEqualTo(USERS * 2);
+    }
+
+    @Test
+    void usersAreWrittenInChunksOfUsersPerTransaction() {
+        BulkUpdateResponse response = service.updateRoles(rolesRequest(userIds, "ROLE_TEACHER"));
+
+        // 5 users in chunks of 2: 2 + 2 + 1
+        assertThat(response.getTransactions()).isEqualTo(3);
+    }
+
+    @Test
+    void permissionsAreReplacedAndAnEmptySetClearsThem() {
+        service.updatePermissions(permissionsRequest(userIds, Set.of("BOOK_READ", "BOOK_WRITE")));
+        service.updatePermissions(permissionsRequest(userIds.subList(0, 1), Set.of()));
+
+        assertThat(permissionCount(userIds.get(0))).isZero();
+        assertThat(permissionCount(userIds.get(1))).isEqualTo(2);
+    }
+
+    @Test
+    void unknownRoleIsRejectedBeforeAnythingIsWritten() {
+        assertThatThrownBy(() -> service.updateRoles(rolesRequest(userIds, "ROLE_TEACHER", "ROLE_NOPE")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Role not found: ROLE_NOPE");
+
+        assertUntouched();
+    }
+
+    @Test
+    void unknownUserIsRejectedBeforeAnythingIsWritten() {
+        List<Long> ids = new ArrayList<>(userIds);
+        ids.add(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> service.updateRoles(rolesRequest(ids, "ROLE_TEACHER")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("User not found: " + Long.MAX_VALUE);
+
+        assertUntouched();
+    }
+
+    @Test
+    void everyUserIsEvictedAgainAfterTheirChunkCommits() {
+        service.updateRoles(rolesRequest(userIds, "ROLE_TEACHER", "ROLE_LIBRARIAN"));
+
+        for (int i = 0; i < USERS; i++) {
+            assertThat(cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE).get(email(i))).isNull();
+            // Inside the transaction other connections still see the old row; after commit, the two new ones
+            assertThat(committedRolesAtEviction.get(email(i))).containsExactly(1, 2);
+        }
+    }
+
+    private void assertUntouched() {
+        for (Long userId : userIds) {
+            assertThat(roleNames(userId)).containsExactly("ROLE_STUDENT");
+        }
+        assertThat(committedRolesAtEviction).isEmpty();
+        for (int i = 0; i < USERS; i++) {
+            assertThat(cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE).get(email(i))).isNotNull();
+        }
+    }
+
+    // Separate connection outside any transaction, so only committed rows are counted
+    private int committedRoleRows(String email) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM user_roles ur JOIN users u ON u.id = ur.user_id WHERE u.email = ?")) {
+            statement.setString(1, email);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<String> roleNames(Long userId) {
+        return jdbcTemplate.queryForList("SELECT r.name FROM user_roles ur JOIN roles r ON r.id = ur.role_id "
+                + "WHERE ur.user_id = ?", String.class, userId);
+    }
+
+    private int permissionCount(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_permissions WHERE user_id = ?",
+                Integer.class, userId);
+    }
+
+    private Role role(String name) {
+        Role role = new Role();
+        role.setName(name);
+        return roleRepository.save(role);
+    }
+
+    private void permission(String name) {
+        Permission permission = new Permission();
+        permission.setName(name);
+        permissionRepository.save(permission);
+    }
+
+    private static String email(int i) {
+        return "bulk" + i + "@school.com";
+    }
+
+    private static BulkUpdateUserRolesRequest rolesRequest(List<Long> ids, String... roles) {
+        List<BulkUpdateUserRolesRequest.Assignment> assignments = new ArrayList<>();
+        for (Long id : ids) {
+            BulkUpdateUserRolesRequest.Assignment assignment = new BulkUpdateUserRolesRequest.Assignment();
+            assignment.setUserId(id);
+            assignment.setRoles(Set.of(roles));
+            assignments.add(assignment);
+        }
+        BulkUpdateUserRolesRequest request = new BulkUpdateUserRolesRequest();
+        request.setAssignments(assignments);
+        return request;
+    }
+
+    private static BulkUpdateUserPermissionsRequest permissionsRequest(List<Long> ids, Set<String> permissions) {
+        List<BulkUpdateUserPermissionsRequest.Assignment> assignments = new ArrayList<>();
+        for (Long id : ids) {
+            BulkUpdateUserPermissionsRequest.Assignment assignment = new BulkUpdateUserPermissionsRequest.Assignment();
+            assignment.setUserId(id);
+            assignment.setPermissions(permissions);
+            assignments.add(assignment);
+        }
+        BulkUpdateUserPermissionsRequest request = new BulkUpdateUserPermissionsRequest();
+        request.setAssignments(assignments);
+        return request;
+    }
+}
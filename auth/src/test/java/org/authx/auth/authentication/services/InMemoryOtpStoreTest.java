@@ -0,0 +1,38 @@
+package org.authx.auth.authentication.services;
+
+import org.authx.auth.authentication.models.Otp;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryOtpStoreTest {
+    private static final int THREADS = 16;
+
+    private final InMemoryOtpStore store = new InMemoryOtpStore(1000);
+
+    @RepeatedTest(20)
+    void concurrentConsumersOfOneCodeHaveExactlyOneWinner() throws Exception {
+        store.save("race@school.com", Otp.OtpType.LOGIN, "123456", LocalDateTime.now().plusMinutes(5));
+
+        List<OtpStore.ConsumeResult> results =
+                OtpConsumeRace.run(store, "race@school.com", Otp.OtpType.LOGIN, "123456", THREADS);
+
+        assertThat(results).filteredOn(result -> result == OtpStore.ConsumeResult.CONSUMED).hasSize(1);
+        assertThat(results).filteredOn(result -> result != OtpStore.ConsumeResult.CONSUMED)
+                .containsOnly(OtpStore.ConsumeResult.EXPIRED);
+    }
+
+    @Test
+    void mismatchLeavesTheCodeUsable() {
+        store.save("user@school.com", Otp.OtpType.LOGIN, "123456", LocalDateTime.now().plusMinutes(5));
+
+        assertThat(store.consume("user@school.com", Otp.OtpType.LOGIN, "654321")).isEqualTo(OtpStore.ConsumeResult.MISMATCH);
+        assertThat(store.consume("user@school.com", Otp.OtpType.PASSWORD_RESET, "123456")).isEqualTo(OtpStore.ConsumeResult.EXPIRED);
+        assertThat(store.consume("user@school.com", Otp.OtpType.LOGIN, "123456")).isEqualTo(OtpStore.ConsumeResult.CONSUMED);
+        assertThat(store.consume("user@school.com", Otp.OtpType.LOGIN, "123456")).isEqualTo(OtpStore.ConsumeResult.EXPIRED);
+    }
+}
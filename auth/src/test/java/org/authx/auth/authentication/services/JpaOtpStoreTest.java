@@ -0,0 +1,60 @@
+package org.authx.auth.authentication.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.authx.auth.authentication.models.Otp;
+import org.authx.auth.authentication.repositories.OtpRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not wrapped in a test transaction: every consume() must commit on its own connection
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({JpaOtpStore.class, JpaOtpStoreTest.Metrics.class})
+class JpaOtpStoreTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private OtpStore store;
+
+    @Autowired
+    private OtpRepository otpRepository;
+
+    @AfterEach
+    void tearDown() {
+        otpRepository.deleteAll();
+    }
+
+    @RepeatedTest(10)
+    void concurrentConsumersOfOneCodeHaveExactlyOneWinner() throws Exception {
+        store.save("race@school.com", Otp.OtpType.LOGIN, "123456", LocalDateTime.now().plusMinutes(5));
+
+        List<OtpStore.ConsumeResult> results =
+                OtpConsumeRace.run(store, "race@school.com", Otp.OtpType.LOGIN, "123456", THREADS);
+
+        assertThat(results).filteredOn(result -> result == OtpStore.ConsumeResult.CONSUMED).hasSize(1);
+        assertThat(results).filteredOn(result -> result != OtpStore.ConsumeResult.CONSUMED)
+                .containsOnly(OtpStore.ConsumeResult.EXPIRED);
+        assertThat(otpRepository.findAll()).singleElement().satisfies(otp -> assertThat(otp.isUsed()).isTrue());
+    }
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
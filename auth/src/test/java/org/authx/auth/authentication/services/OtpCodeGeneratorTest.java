@@ -0,0 +1,125 @@
+package org.authx.auth.authentication.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OtpCodeGeneratorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OtpCodeGenerator generator;
+
+    @AfterEach
+    void tearDown() {
+        if (generator != null && generator.isRunning()) {
+            generator.stop();
+        }
+    }
+
+    @Test
+    void codesAreSixZeroPaddedDigits() {
+        generator = generator(64);
+        generator.start();
+
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            codes.add(i % 2 == 0 ? generator.next() : generator.generate());
+        }
+        assertThat(codes).allMatch(code -> code.matches("\\d{" + OtpCodeGenerator.CODE_LENGTH + "}"));
+        // About a tenth of uniform codes are below 100000, which only padding keeps at six digits
+        assertThat(codes).anyMatch(code -> code.startsWith("0"));
+    }
+
+    @Test
+    void concurrentCallersNeverShareAPooledCode() throws Exception {
+        int threads = 8;
+        int perThread = 500;
+        generator = generator(threads * perThread * 2);
+        generator.start();
+
+        // Codes may repeat by value; each pooled instance must be handed out exactly once
+        Set<String> issued = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        assertThat(issued.add(generator.next())).as("code handed out twice").isTrue();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(issued).hasSize(threads * perThread);
+        assertThat(misses()).isZero();
+    }
+
+    @Test
+    void emptyPoolFallsBackToInlineGeneration() {
+        generator = generator(4);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(generator.next()).hasSize(OtpCodeGenerator.CODE_LENGTH);
+        }
+        assertThat(misses()).isEqualTo(10);
+    }
+
+    @Test
+    void startFillsThePool() {
+        generator = generator(8);
+        generator.start();
+
+        for (int i = 0; i < 8; i++) {
+            generator.next();
+        }
+        assertThat(misses()).isZero();
+    }
+
+    @Test
+    void stopClearsThePoolForGood() throws Exception {
+        generator = generator(16);
+        generator.start();
+        // Take half the pool so the refiller is woken up right before stopping
+        for (int i = 0; i < 8; i++) {
+            generator.next();
+        }
+        generator.stop();
+        assertThat(generator.isRunning()).isFalse();
+
+        Thread.sleep(50);
+        for (int i = 0; i < 16; i++) {
+            generator.next();
+        }
+        assertThat(misses()).isEqualTo(16);
+    }
+
+    private OtpCodeGenerator generator(int poolSize) {
+        return new OtpCodeGenerator(meterRegistry, poolSize, 2, Duration.ofHours(1), false);
+    }
+
+    private double misses() {
+        return meterRegistry.get("auth.otp.generator.misses").counter().count();
+    }
+}
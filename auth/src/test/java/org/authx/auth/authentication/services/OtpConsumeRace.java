@@ -0,0 +1,44 @@
+package org.authx.auth.authentication.services;
+
+import org.authx.auth.authentication.models.Otp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Releases {@code threads} callers at once against the same code and collects what each was told.
+ */
+final class OtpConsumeRace {
+    private OtpConsumeRace() {
+    }
+
+    static List<OtpStore.ConsumeResult> run(OtpStore store, String email, Otp.OtpType type, String code,
+                                            int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        try {
+            List<Future<OtpStore.ConsumeResult>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    return store.consume(email, type, code);
+                }));
+            }
+            ready.await();
+            go.countDown();
+            List<OtpStore.ConsumeResult> results = new ArrayList<>();
+            for (Future<OtpStore.ConsumeResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
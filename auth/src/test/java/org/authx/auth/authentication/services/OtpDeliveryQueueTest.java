@@ -0,0 +1,107 @@
+package org.authx.auth.authentication.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.authx.auth.authentication.models.Otp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OtpDeliveryQueueTest {
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<OtpMessage> delivered = new CopyOnWriteArrayList<>();
+    private final AtomicInteger attempts = new AtomicInteger();
+    private OtpDeliveryQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null && queue.isRunning()) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void failedBatchIsRetriedUntilTheSenderAcceptsIt() {
+        queue = queue(messages -> {
+            if (attempts.incrementAndGet() < MAX_ATTEMPTS) {
+                throw new IllegalStateException("gateway unavailable");
+            }
+            delivered.addAll(messages);
+        }, 10, 1);
+        queue.onOtpIssued(message(0));
+
+        queue.start();
+        queue.stop();
+
+        assertThat(attempts).hasValue(MAX_ATTEMPTS);
+        assertThat(delivered).containsExactly(message(0));
+        assertThat(count("sent")).isEqualTo(1);
+        assertThat(count("failed")).isZero();
+    }
+
+    @Test
+    void batchIsCountedAsFailedOnceAttemptsRunOut() {
+        queue = queue(messages -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("gateway unavailable");
+        }, 10, 1);
+        queue.onOtpIssued(message(0));
+        queue.onOtpIssued(message(1));
+
+        queue.start();
+        queue.stop();
+
+        assertThat(attempts).hasValue(MAX_ATTEMPTS);
+        assertThat(count("failed")).isEqualTo(2);
+        assertThat(count("sent")).isZero();
+    }
+
+    @Test
+    void stopDeliversEverythingAlreadyQueued() {
+        queue = queue(messages -> {
+            // A slow gateway, so most messages are still queued when stop() is called
+            Thread.sleep(5);
+            delivered.addAll(messages);
+        }, 1_000, 2);
+        queue.start();
+        for (int i = 0; i < 200; i++) {
+            queue.onOtpIssued(message(i));
+        }
+
+        queue.stop();
+
+        assertThat(delivered).hasSize(200).doesNotHaveDuplicates();
+        assertThat(count("sent")).isEqualTo(200);
+        assertThat(meterRegistry.get("auth.otp.delivery.queue").gauge().value()).isZero();
+    }
+
+    @Test
+    void messagesBeyondCapacityAreDropped() {
+        queue = queue(delivered::addAll, 1, 1);
+
+        queue.onOtpIssued(message(0));
+        queue.onOtpIssued(message(1));
+
+        assertThat(count("dropped")).isEqualTo(1);
+    }
+
+    private OtpDeliveryQueue queue(OtpSender sender, int capacity, int workers) {
+        return new OtpDeliveryQueue(sender, meterRegistry, capacity, workers, 10, MAX_ATTEMPTS,
+                Duration.ofMillis(1), Duration.ofSeconds(10), false);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("auth.otp.delivery.messages").tag("outcome", outcome).counter().count();
+    }
+
+    private static OtpMessage message(int i) {
+        return new OtpMessage("user" + i + "@school.com", Otp.OtpType.LOGIN, "123456");
+    }
+}
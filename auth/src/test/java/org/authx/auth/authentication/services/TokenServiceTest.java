@@ -0,0 +1,73 @@
+package org.authx.auth.authentication.services;
+
+import org.authx.auth.authentication.configs.TokenConfig;
+import org.authx.auth.authentication.dtos.TokenResponse;
+import org.authx.auth.authentication.models.CustomUserDetails;
+import org.authx.auth.authentication.models.User;
+import org.authx.auth.authentication.security.AuthorityRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenServiceTest {
+    private static final String EMAIL = "user@school.com";
+
+    private final TokenConfig tokenConfig = new TokenConfig();
+    private final SecretKey key = tokenConfig.tokenSigningKey(Base64.getEncoder().encodeToString(new byte[32]));
+    private final CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+    private final TokenService tokenService = new TokenService(tokenConfig.jwtEncoder(key), key, userDetailsService,
+            Duration.ofMinutes(15), Duration.ofDays(7));
+
+    @Test
+    void refreshIssuesNewTokensWhileTheTokenVersionIsCurrent() {
+        CustomUserDetails user = user(0);
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user);
+
+        TokenResponse refreshed = tokenService.refresh(tokenService.issueTokens(user).getRefreshToken());
+
+        assertThat(refreshed.getAccessToken()).isNotBlank();
+    }
+
+    @Test
+    void passwordResetRetiresEarlierRefreshTokens() {
+        String refreshToken = tokenService.issueTokens(user(0)).getRefreshToken();
+        // What the details service returns after resetPassword bumped the version
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user(1));
+
+        assertThatThrownBy(() -> tokenService.refresh(refreshToken))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid or expired refresh token");
+    }
+
+    @Test
+    void accessTokensAreNotAcceptedAsRefreshTokens() {
+        CustomUserDetails user = user(0);
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user);
+
+        assertThatThrownBy(() -> tokenService.refresh(tokenService.issueTokens(user).getAccessToken()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void signingKeyIsRequired() {
+        assertThatThrownBy(() -> tokenConfig.tokenSigningKey(""))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("AUTH_TOKEN_SECRET");
+    }
+
+    private static CustomUserDetails user(int tokenVersion) {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail(EMAIL);
+        user.setPassword("hash");
+        user.setTokenVersion(tokenVersion);
+        return new CustomUserDetails(user, new AuthorityRegistry());
+    }
+}
@@ -0,0 +1,134 @@
+package org.authx.auth.authentication.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.authx.auth.authentication.models.Otp;
+import org.authx.auth.authentication.models.OtpSlot;
+import org.authx.auth.authentication.repositories.OtpSlotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the store's native statements (row-alias upsert, conditional DELETE, DELETE ... LIMIT) on MySQL,
+ * since H2 cannot parse them. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "auth.otp.store=upsert",
+        "auth.otp.purge.batch-size=2",
+        "auth.otp.purge.pause-ms=0"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// Not wrapped in a test transaction: every call must commit on its own connection
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({UpsertOtpStore.class, UpsertOtpStoreMySqlTest.Metrics.class})
+class UpsertOtpStoreMySqlTest {
+    private static final String EMAIL = "slot@school.com";
+    private static final int THREADS = 8;
+
+    @Container
+    @ServiceConnection
+    static final MySQLContainer MYSQL = new MySQLContainer("mysql:8.4");
+
+    @Autowired
+    private OtpStore store;
+
+    @Autowired
+    private OtpSlotRepository otpSlotRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        otpSlotRepository.deleteAll();
+    }
+
+    @Test
+    void reissuingForTheSameEmailAndTypeReplacesTheRow() {
+        store.save(EMAIL, Otp.OtpType.LOGIN, "111111", LocalDateTime.now().plusMinutes(5));
+        store.save(EMAIL, Otp.OtpType.LOGIN, "222222", LocalDateTime.now().plusMinutes(5));
+        store.save(EMAIL, Otp.OtpType.PASSWORD_RESET, "333333", LocalDateTime.now().plusMinutes(5));
+
+        assertThat(otpSlotRepository.findAll()).hasSize(2);
+        assertThat(otpSlotRepository.findById(new OtpSlot.Key(EMAIL, Otp.OtpType.LOGIN)))
+                .hasValueSatisfying(slot -> assertThat(slot.getCode()).isEqualTo("222222"));
+        assertThat(store.consume(EMAIL, Otp.OtpType.LOGIN, "111111")).isEqualTo(OtpStore.ConsumeResult.MISMATCH);
+        assertThat(store.consume(EMAIL, Otp.OtpType.LOGIN, "222222")).isEqualTo(OtpStore.ConsumeResult.CONSUMED);
+    }
+
+    @Test
+    void wrongCodeLeavesTheLiveCodeInPlace() {
+        store.save(EMAIL, Otp.OtpType.LOGIN, "123456", LocalDateTime.now().plusMinutes(5));
+
+        assertThat(store.consume(EMAIL, Otp.OtpType.LOGIN, "654321")).isEqualTo(OtpStore.ConsumeResult.MISMATCH);
+        assertThat(otpSlotRepository.count()).isEqualTo(1);
+        assertThat(store.consume(EMAIL, Otp.OtpType.LOGIN, "123456")).isEqualTo(OtpStore.ConsumeResult.CONSUMED);
+        assertThat(otpSlotRepository.count()).isZero();
+    }
+
+    @Test
+    void expiredCodeIsNotConsumed() {
+        store.save(EMAIL, Otp.OtpType.LOGIN, "123456", LocalDateTime.now().minusSeconds(1));
+
+        assertThat(store.consume(EMAIL, Otp.OtpType.LOGIN, "123456")).isEqualTo(OtpStore.ConsumeResult.EXPIRED);
+        // Left for the purge job
+        assertThat(otpSlotRepository.count()).isEqualTo(1);
+    }
+
+    @RepeatedTest(10)
+    void concurrentConsumersOfOneCodeHaveExactlyOneWinner() throws Exception {
+        store.save(EMAIL, Otp.OtpType.LOGIN, "123456", LocalDateTime.now().plusMinutes(5));
+
+        List<OtpStore.ConsumeResult> results =
+                OtpConsumeRace.run(store, EMAIL, Otp.OtpType.LOGIN, "123456", THREADS);
+
+        assertThat(results).filteredOn(result -> result == OtpStore.ConsumeResult.CONSUMED).hasSize(1);
+        assertThat(results).filteredOn(result -> result != OtpStore.ConsumeResult.CONSUMED)
+                .containsOnly(OtpStore.ConsumeResult.EXPIRED);
+        assertThat(otpSlotRepository.count()).isZero();
+    }
+
+    @Test
+    void purgeDeletesExpiredRowsInLimitedBatches() {
+        for (int i = 0; i < 5; i++) {
+            store.save("expired" + i + "@school.com", Otp.OtpType.LOGIN, "123456", LocalDateTime.now().minusMinutes(1));
+        }
+        store.save(EMAIL, Otp.OtpType.LOGIN, "123456", LocalDateTime.now().plusMinutes(5));
+
+        store.purgeExpired();
+
+        assertThat(otpSlotRepository.findAll()).singleElement()
+                .satisfies(slot -> assertThat(slot.getEmail()).isEqualTo(EMAIL));
+        assertThat(meterRegistry.get("auth.otp.purge.rows").counter().count()).isEqualTo(5);
+        // Batches of 2: 2 + 2 + 1, the short one ends the purge
+        assertThat(meterRegistry.get("auth.otp.purge.batch").timer().count()).isEqualTo(3);
+    }
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.authx.auth.authentication.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.authx.auth.authentication.repositories.OtpSlotRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UpsertOtpStoreTest {
+    private static final int BATCH_SIZE = 100;
+    private static final long PAUSE_MILLIS = 20;
+
+    private final OtpSlotRepository otpSlotRepository = mock(OtpSlotRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UpsertOtpStore store = new UpsertOtpStore(otpSlotRepository, transactionManager, meterRegistry,
+            BATCH_SIZE, PAUSE_MILLIS);
+
+    @Test
+    void purgeRunsPacedBatchesUntilOneComesBackShort() {
+        when(otpSlotRepository.deleteExpired(any(LocalDateTime.class), eq(BATCH_SIZE)))
+                .thenReturn(BATCH_SIZE, BATCH_SIZE, 7);
+
+        long start = System.nanoTime();
+        store.purgeExpired();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        verify(otpSlotRepository, times(3)).deleteExpired(any(LocalDateTime.class), eq(BATCH_SIZE));
+        // One transaction per batch
+        verify(transactionManager, times(3)).commit(any());
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(2 * PAUSE_MILLIS);
+        assertThat(meterRegistry.get("auth.otp.purge.rows").counter().count()).isEqualTo(2 * BATCH_SIZE + 7);
+        assertThat(meterRegistry.get("auth.otp.purge.batch").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void purgeUsesOneCutoffForEveryBatch() {
+        when(otpSlotRepository.deleteExpired(any(LocalDateTime.class), eq(BATCH_SIZE))).thenReturn(BATCH_SIZE, 0);
+
+        store.purgeExpired();
+
+        ArgumentCaptor<LocalDateTime> cutoffs = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(otpSlotRepository, times(2)).deleteExpired(cutoffs.capture(), eq(BATCH_SIZE));
+        assertThat(cutoffs.getAllValues()).hasSize(2).allMatch(cutoff -> cutoff.equals(cutoffs.getAllValues().get(0)));
+        assertThat(meterRegistry.get("auth.otp.purge.rows").counter().count()).isEqualTo(BATCH_SIZE);
+    }
+
+    @Test
+    void emptyPurgeIsASingleBatch() {
+        store.purgeExpired();
+
+        verify(otpSlotRepository, times(1)).deleteExpired(any(LocalDateTime.class), eq(BATCH_SIZE));
+        assertThat(meterRegistry.get("auth.otp.purge.rows").counter().count()).isZero();
+    }
+}
@@ -0,0 +1,133 @@
+package org.authx.auth.authentication.services;
+
+import org.authx.auth.authentication.dtos.UserPage;
+import org.authx.auth.authentication.dtos.UserSummary;
+import org.authx.auth.authentication.repositories.UserListingRepository;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserDirectoryServiceTest {
+    private static final int FETCH_SIZE = 100;
+
+    private final UserListingRepository repository = mock(UserListingRepository.class);
+    private final UserDirectoryService service = new UserDirectoryService(repository, JsonMapper.builder().build(),
+            FETCH_SIZE, 1);
+
+    @Test
+    void fullPageHandsOutTheLastIdAsTheNextCursor() {
+        when(repository.findPage(10, 2)).thenReturn(List.of(user(11, "a"), user(14, "b")));
+
+        UserPage page = service.listUsers(10, 2);
+
+        assertThat(page.getUsers()).hasSize(2);
+        assertThat(page.getNextAfterId()).isEqualTo(14);
+    }
+
+    @Test
+    void shortPageIsTheLastOne() {
+        when(repository.findPage(14, 2)).thenReturn(List.of(user(20, "c")));
+
+        assertThat(service.listUsers(14, 2).getNextAfterId()).isNull();
+    }
+
+    @Test
+    void negativeCursorStartsFromTheBeginning() {
+        when(repository.findPage(0, 5)).thenReturn(List.of());
+
+        assertThat(service.listUsers(-3, 5).getUsers()).isEmpty();
+    }
+
+    @Test
+    void limitOutsideTheAllowedRangeIsRejected() {
+        assertThatThrownBy(() -> service.listUsers(0, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.listUsers(0, UserDirectoryService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void csvQuotesSeparatorsAndDefusesFormulas() throws IOException {
+        streams(
+                new UserSummary(1L, "plain", "plain@school.com", true, List.of("ROLE_STUDENT", "ROLE_TEACHER")),
+                new UserSummary(2L, "Doe, \"JD\"", "jd@school.com", false, List.of()),
+                new UserSummary(3L, "=HYPERLINK(\"x\")", "line\nbreak@school.com", true, List.of()),
+                new UserSummary(4L, null, "-1@school.com", true, List.of()));
+
+        assertThat(export(service::exportCsv)).isEqualTo("""
+                id,username,email,enabled,roles\r
+                1,plain,plain@school.com,true,ROLE_STUDENT;ROLE_TEACHER\r
+                2,"Doe, ""JD""\",jd@school.com,false,\r
+                3,"'=HYPERLINK(""x"")","line
+                break@school.com",true,\r
+                4,,'-1@school.com,true,\r
+                """);
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws IOException {
+        streams(user(1, "a"), user(2, "b"));
+
+        String[] lines = export(service::exportNdjson).split("\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{").contains("\"id\":1");
+        assertThat(lines[1]).contains("\"username\":\"b\"");
+    }
+
+    @Test
+    void exportBeyondTheSlotLimitIsRejectedUntilTheRunningOneEnds() throws IOException {
+        streams(user(1, "a"));
+        UserDirectoryService.ExportBody running = service.reserveExport(service::exportCsv);
+
+        assertThatThrownBy(() -> service.reserveExport(service::exportCsv)).isInstanceOf(ExportRejectedException.class);
+
+        running.writeTo(new ByteArrayOutputStream());
+        assertThat(export(service.reserveExport(service::exportCsv))).startsWith("id,");
+    }
+
+    @Test
+    void failedExportGivesItsSlotBack() {
+        doAnswer(invocation -> {
+            throw new IllegalStateException("connection lost");
+        }).when(repository).streamAll(anyInt(), any());
+
+        assertThatThrownBy(() -> service.reserveExport(service::exportCsv).writeTo(new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(service.reserveExport(service::exportCsv)).isNotNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streams(UserSummary... users) {
+        doAnswer(invocation -> {
+            Consumer<UserSummary> sink = invocation.getArgument(1);
+            for (UserSummary user : users) {
+                sink.accept(user);
+            }
+            return null;
+        }).when(repository).streamAll(eq(FETCH_SIZE), any(Consumer.class));
+    }
+
+    private static String export(UserDirectoryService.ExportBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static UserSummary user(long id, String username) {
+        return new UserSummary(id, username, username + "@school.com", true, List.of());
+    }
+}